@@ -0,0 +1,100 @@
+package com.example.manger_app.benchmark;
+
+import com.example.manger_app.security.OAuthClientHttpRequestInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class AuthorizationInterceptorBenchmark {
+    private static final URI PRODUCTS_URI = URI.create("/catalogue-api/products");
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private static final OAuth2AuthorizedClient AUTHORIZED_CLIENT = new OAuth2AuthorizedClient(
+            ClientRegistration.withRegistrationId("keycloak")
+                    .clientId("manager-app")
+                    .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                    .tokenUri("http://localhost/token")
+                    .build(),
+            "user",
+            new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "token", Instant.now(),
+                    Instant.now().plus(1, ChronoUnit.DAYS)));
+
+    private static final OAuthClientHttpRequestInterceptor INTERCEPTOR = new OAuthClientHttpRequestInterceptor(
+            request -> AUTHORIZED_CLIENT, "keycloak");
+
+    private static final ClientHttpRequestExecution EXECUTION = (request, body) ->
+            new MockClientHttpResponse(EMPTY_BODY, 200);
+
+    private static final OAuth2AuthorizedClientManager UNCACHED_AUTHORIZED_CLIENT_MANAGER = request -> AUTHORIZED_CLIENT;
+
+    private final OAuthClientHttpRequestInterceptor uncachedInterceptor = new OAuthClientHttpRequestInterceptor(
+            UNCACHED_AUTHORIZED_CLIENT_MANAGER, "keycloak");
+
+    @Setup
+    public void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("user-" + Thread.currentThread().threadId(), "password"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public ClientHttpResponse withoutInterceptor() throws IOException {
+        return EXECUTION.execute(new MockClientHttpRequest(HttpMethod.GET, PRODUCTS_URI), EMPTY_BODY);
+    }
+
+    @Benchmark
+    public ClientHttpResponse cachedToken() throws IOException {
+        return INTERCEPTOR.intercept(new MockClientHttpRequest(HttpMethod.GET, PRODUCTS_URI), EMPTY_BODY,
+                EXECUTION);
+    }
+
+    @Benchmark
+    public ClientHttpResponse anonymousAuthorization() throws IOException {
+        SecurityContextHolder.clearContext();
+        try {
+            return uncachedInterceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, PRODUCTS_URI),
+                    EMPTY_BODY, EXECUTION);
+        } finally {
+            setUp();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.manger_app.benchmark;
+
+import com.example.manger_app.client.RestClientProductsRestClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+final class CatalogueStub implements AutoCloseable {
+    static {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Map<String, Response> responses = new ConcurrentHashMap<>();
+
+    CatalogueStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    static byte[] products(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(CatalogueStub::productJson)
+                .collect(Collectors.joining(",", "[", "]"))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] product(int id) {
+        return productJson(id).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String productJson(int id) {
+        return """
+                {"id":%d,"title":"Товар %d","details":"Описание товара %d"}""".formatted(id, id, id);
+    }
+
+    void stub(String method, String path, int status, String contentType, byte[] body) {
+        responses.put(method + " " + path, new Response(status, contentType, null, body));
+    }
+
+    void stubWithETag(String method, String path, String eTag, byte[] body) {
+        responses.put(method + " " + path, new Response(200, "application/json", eTag, body));
+    }
+
+    String baseUrl() {
+        return "http://localhost:%d".formatted(server.getAddress().getPort());
+    }
+
+    RestClient.Builder restClient() {
+        return RestClient.builder()
+                .baseUrl(baseUrl())
+                .requestFactory(new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .build()));
+    }
+
+    RestClientProductsRestClient productsRestClient() {
+        return new RestClientProductsRestClient(restClient().build());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream requestBody = exchange.getRequestBody()) {
+            requestBody.readAllBytes();
+            Response response = responses.get(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath());
+            if (response == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            if (response.eTag() != null) {
+                exchange.getResponseHeaders().set(HttpHeaders.ETAG, response.eTag());
+                if (response.eTag().equals(exchange.getRequestHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+            }
+            if (response.body().length == 0) {
+                exchange.sendResponseHeaders(response.status(), -1);
+                return;
+            }
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, response.contentType());
+            exchange.sendResponseHeaders(response.status(), response.body().length);
+            exchange.getResponseBody().write(response.body());
+        }
+    }
+
+    private record Response(int status, String contentType, String eTag, byte[] body) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.manger_app.benchmark;
+
+import com.example.manger_app.client.BadRequestException;
+import com.example.manger_app.client.RestClientProductsRestClient;
+import com.example.manger_app.client.ValidationResult;
+import com.example.manger_app.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorMappingBenchmark {
+    CatalogueStub catalogue;
+
+    RestClientProductsRestClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        catalogue = new CatalogueStub();
+        catalogue.stub("POST", "/catalogue-api/products", 400, MediaType.APPLICATION_PROBLEM_JSON_VALUE, """
+                {"type":"about:blank","title":"Bad Request","status":400,
+                "errors":["Название товара должно быть от 3 до 50 символов"]}"""
+                .getBytes(StandardCharsets.UTF_8));
+        catalogue.stub("PATCH", "/catalogue-api/products/1", 204, MediaType.APPLICATION_JSON_VALUE, new byte[0]);
+        client = catalogue.productsRestClient();
+    }
+
+    @TearDown
+    public void tearDown() {
+        catalogue.close();
+    }
+
+    @Benchmark
+    public List<String> createProduct_BadRequest() {
+        try {
+            Product product = client.createProduct(" ", null);
+            throw new IllegalStateException("Expected a bad request, got " + product);
+        } catch (BadRequestException exception) {
+            return exception.getErrors();
+        }
+    }
+
+    @Benchmark
+    public List<String> tryCreateProduct_BadRequest() {
+        return switch (client.tryCreateProduct(" ", null)) {
+            case ValidationResult.Invalid<Product>(List<String> errors) -> errors;
+            case ValidationResult.Valid<Product>(Product product) ->
+                    throw new IllegalStateException("Expected a bad request, got " + product);
+        };
+    }
+
+    @Benchmark
+    public void updateProduct_NoContent() {
+        client.updateProduct(1, "Товар 1", "Описание товара 1");
+    }
+
+    @Benchmark
+    public ValidationResult<Void> tryUpdateProduct_NoContent() {
+        return client.tryUpdateProduct(1, "Товар 1", "Описание товара 1", null);
+    }
+}
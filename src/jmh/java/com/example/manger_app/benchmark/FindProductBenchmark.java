@@ -0,0 +1,62 @@
+package com.example.manger_app.benchmark;
+
+import com.example.manger_app.client.RestClientProductsRestClient;
+import com.example.manger_app.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FindProductBenchmark {
+    CatalogueStub catalogue;
+
+    RestClientProductsRestClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        catalogue = new CatalogueStub();
+        catalogue.stub("GET", "/catalogue-api/products/1", 200, MediaType.APPLICATION_JSON_VALUE,
+                CatalogueStub.product(1));
+        catalogue.stubWithETag("GET", "/catalogue-api/products/2", "\"v1\"", CatalogueStub.product(2));
+        catalogue.stub("GET", "/catalogue-api/products/3", 404, MediaType.APPLICATION_JSON_VALUE, new byte[0]);
+        client = catalogue.productsRestClient();
+    }
+
+    @TearDown
+    public void tearDown() {
+        catalogue.close();
+    }
+
+    @Benchmark
+    public Optional<Product> findProduct() {
+        return client.findProduct(1);
+    }
+
+    @Benchmark
+    public Optional<Product> findProduct_NotModified() {
+        return client.findProduct(2);
+    }
+
+    @Benchmark
+    public Optional<Product> findProduct_NotFound() {
+        return client.findProduct(3);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.manger_app.benchmark;
+
+import com.example.manger_app.client.DelegatingProductsRestClient;
+import com.example.manger_app.controller.ProductSuggestions;
+import com.example.manger_app.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ProductSuggestionsBenchmark {
+    private static final String[] WORDS = {"Ноутбук", "Смартфон", "Планшет", "Монитор", "Клавиатура", "Мышь",
+            "Наушники", "Колонка", "Роутер", "Камера", "Чехол", "Ёлка", "игровой", "беспроводной", "чёрный"};
+
+    @Param({"100000", "1000000"})
+    int products;
+
+    ProductSuggestions suggestions;
+
+    @Setup
+    public void setUp() {
+        suggestions = new ProductSuggestions(new DelegatingProductsRestClient(null) {
+            @Override
+            public Stream<Product> streamAllProducts(String filter) {
+                var random = new SplittableRandom(42);
+                return IntStream.rangeClosed(1, products).mapToObj(id -> new Product(id,
+                        "%s %s %d".formatted(WORDS[random.nextInt(WORDS.length)],
+                                WORDS[random.nextInt(WORDS.length)], id), null));
+            }
+        }, Runnable::run, Duration.ofDays(1));
+        suggestions.suggest("н", 1);
+    }
+
+    @Benchmark
+    public List<ProductSuggestions.Suggestion> broadPrefix() {
+        return suggestions.suggest("но", 10);
+    }
+
+    @Benchmark
+    public List<ProductSuggestions.Suggestion> foldedPrefix() {
+        return suggestions.suggest("ЕЛК", 10);
+    }
+
+    @Benchmark
+    public List<ProductSuggestions.Suggestion> selectivePrefix() {
+        return suggestions.suggest("65432", 10);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.manger_app.benchmark;
+
+import com.example.manger_app.client.RestClientProductsRestClient;
+import com.example.manger_app.entity.Product;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductsListBenchmark {
+    private static final TypeReference<List<Product>> PRODUCTS_TYPE_REFERENCE = new TypeReference<>() {
+    };
+
+    @Param({"10", "1000", "100000"})
+    int products;
+
+    byte[] body;
+
+    ObjectMapper objectMapper;
+
+    CatalogueStub catalogue;
+
+    RestClientProductsRestClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        body = CatalogueStub.products(products);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        catalogue = new CatalogueStub();
+        catalogue.stub("GET", "/catalogue-api/products", 200, MediaType.APPLICATION_JSON_VALUE, body);
+        client = catalogue.productsRestClient();
+    }
+
+    @TearDown
+    public void tearDown() {
+        catalogue.close();
+    }
+
+    @Benchmark
+    public List<Product> deserializeList() throws IOException {
+        return objectMapper.readValue(body, PRODUCTS_TYPE_REFERENCE);
+    }
+
+    @Benchmark
+    public List<Product> findAllProducts() {
+        return client.findAllProducts("");
+    }
+
+    @Benchmark
+    public void streamAllProducts(Blackhole blackhole) {
+        try (Stream<Product> stream = client.streamAllProducts("")) {
+            stream.forEach(blackhole::consume);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.manger_app.benchmark;
+
+import com.example.manger_app.client.DelegatingProductsRestClient;
+import com.example.manger_app.client.ProductsReplica;
+import com.example.manger_app.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ProductsReplicaBenchmark {
+    private static final String[] WORDS = {"ноутбук", "смартфон", "планшет", "монитор", "клавиатура", "мышь",
+            "наушники", "колонка", "роутер", "камера", "чехол", "кабель", "зарядка", "подставка", "игровой",
+            "беспроводной", "компактный", "чёрный", "белый", "металлический"};
+
+    @Param("1000000")
+    int products;
+
+    ScheduledExecutorService scheduler;
+
+    ProductsReplica replica;
+
+    @Setup
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        replica = new ProductsReplica(new DelegatingProductsRestClient(null) {
+            @Override
+            public Stream<Product> streamAllProducts(String filter) {
+                var random = new SplittableRandom(42);
+                return IntStream.rangeClosed(1, products).mapToObj(id -> new Product(id,
+                        "Товар %d %s".formatted(id, WORDS[random.nextInt(WORDS.length)]),
+                        "%s %s %s".formatted(WORDS[random.nextInt(WORDS.length)],
+                                WORDS[random.nextInt(WORDS.length)], WORDS[random.nextInt(WORDS.length)])));
+            }
+        }, scheduler, Duration.ofDays(1), Duration.ofDays(1));
+
+        long usedBefore = usedHeap();
+        long startedAt = System.nanoTime();
+        replica.sync();
+        long syncNanos = System.nanoTime() - startedAt;
+        System.out.printf("%nreplica of %d products: sync %d ms, ~%d MiB heap%n", replica.getSize(),
+                TimeUnit.NANOSECONDS.toMillis(syncNanos), (usedHeap() - usedBefore) >> 20);
+    }
+
+    @TearDown
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Benchmark
+    public Optional<List<Product>> selectiveFilter() {
+        return replica.findProducts("товар 654321 ", Integer.MIN_VALUE, 0, 20);
+    }
+
+    @Benchmark
+    public Optional<List<Product>> broadFilterFirstPage() {
+        return replica.findProducts("беспроводной ноутбук", Integer.MIN_VALUE, 0, 20);
+    }
+
+    @Benchmark
+    public Optional<List<Product>> broadFilterAfterCursor() {
+        return replica.findProducts("беспроводной ноутбук", 900_000, 0, 20);
+    }
+
+    @Benchmark
+    public Optional<List<Product>> shortFilter() {
+        return replica.findProducts("ь", Integer.MIN_VALUE, 0, 20);
+    }
+
+    @Benchmark
+    public Optional<List<Product>> filterWithoutMatches() {
+        return replica.findProducts("телевизор", Integer.MIN_VALUE, 0, 20);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
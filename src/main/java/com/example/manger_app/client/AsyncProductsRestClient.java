@@ -0,0 +1,19 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncProductsRestClient {
+    CompletableFuture<List<Product>> findAllProducts(String filter);
+
+    CompletableFuture<Product> createProduct(String title, String details);
+
+    CompletableFuture<Optional<Product>> findProduct(int productId);
+
+    CompletableFuture<Void> updateProduct(int productId, String title, String details);
+
+    CompletableFuture<Void> deleteProduct(int productId);
+}
@@ -0,0 +1,117 @@
+package com.example.manger_app.client;
+
+import lombok.Setter;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+public class BatchProductsRestClient {
+    private final ProductsRestClient productsRestClient;
+
+    private final Executor executor;
+
+    private final int parallelism;
+
+    @Setter
+    private SecurityContextHolderStrategy securityContextHolder =
+            SecurityContextHolder.getContextHolderStrategy();
+
+    @Setter
+    private TaskDecorator taskDecorator = task -> {
+        var runnable = new DelegatingSecurityContextRunnable(task, securityContextHolder.getContext());
+        runnable.setSecurityContextHolderStrategy(securityContextHolder);
+        return runnable;
+    };
+
+    public BatchProductsRestClient(ProductsRestClient productsRestClient, Executor executor, int parallelism) {
+        this.productsRestClient = productsRestClient;
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    public List<ProductOperationResult> updateProducts(List<ProductUpdate> updates) {
+        return run(updates, ProductUpdate::productId, update -> {
+            VersionedProduct current = productsRestClient.findVersionedProduct(update.productId())
+                    .orElseThrow(() -> new NoSuchElementException("catalogue.errors.product.not_found"));
+            if (!Objects.equals(current.product().details(), update.details())) {
+                throw new ConflictException("catalogue.errors.product.conflict");
+            }
+            productsRestClient.updateProduct(update.productId(), update.title(), update.details(),
+                    current.version());
+        });
+    }
+
+    public List<ProductOperationResult> deleteProducts(List<Integer> productIds) {
+        return run(productIds, productId -> productId, productsRestClient::deleteProduct);
+    }
+
+    private <T> List<ProductOperationResult> run(List<T> items, ToIntFunction<T> productIdExtractor,
+                                                 Consumer<T> operation) {
+        var permits = new Semaphore(parallelism);
+        var results = new ArrayList<CompletableFuture<ProductOperationResult>>(items.size());
+        try {
+            for (T item : items) {
+                permits.acquire();
+                int productId = productIdExtractor.applyAsInt(item);
+                var result = new CompletableFuture<ProductOperationResult>();
+                try {
+                    executor.execute(taskDecorator.decorate(() -> {
+                        try {
+                            result.complete(execute(productId, item, operation));
+                        } catch (Error error) {
+                            result.completeExceptionally(error);
+                            throw error;
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                    results.add(result);
+                } catch (RuntimeException exception) {
+                    permits.release();
+                    throw exception;
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            results.forEach(result -> result.cancel(false));
+            throw new IllegalStateException(exception);
+        }
+
+        return results.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    private static <T> ProductOperationResult execute(int productId, T item, Consumer<T> operation) {
+        try {
+            operation.accept(item);
+            return ProductOperationResult.ok(productId);
+        } catch (BadRequestException exception) {
+            return new ProductOperationResult(productId, ProductOperationResult.Status.INVALID,
+                    exception.getErrors() == null ? List.of() : exception.getErrors());
+        } catch (NoSuchElementException exception) {
+            return new ProductOperationResult(productId, ProductOperationResult.Status.NOT_FOUND,
+                    List.of());
+        } catch (ConflictException exception) {
+            return new ProductOperationResult(productId, ProductOperationResult.Status.CONFLICT,
+                    List.of());
+        } catch (RuntimeException exception) {
+            return new ProductOperationResult(productId, ProductOperationResult.Status.FAILED,
+                    List.of(String.valueOf(exception.getMessage())));
+        }
+    }
+
+    public record ProductUpdate(int productId, String title, String details) {
+    }
+}
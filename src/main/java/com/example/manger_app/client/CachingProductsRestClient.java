@@ -0,0 +1,157 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class CachingProductsRestClient extends DelegatingProductsRestClient {
+    private final AsyncCache<Integer, CachedProduct> products;
+
+    public CachingProductsRestClient(ProductsRestClient delegate, long maximumSize,
+                                     Duration timeToLive, Duration notFoundTimeToLive) {
+        super(delegate);
+        this.products = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Integer, CachedProduct>() {
+                    @Override
+                    public long expireAfterCreate(Integer productId, CachedProduct product, long currentTime) {
+                        return (product.product().isPresent() ? timeToLive : notFoundTimeToLive).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Integer productId, CachedProduct product,
+                                                  long currentTime, long currentDuration) {
+                        return expireAfterCreate(productId, product, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Integer productId, CachedProduct product,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Cache<Integer, CachedProduct> getCache() {
+        return products.synchronous();
+    }
+
+    public CacheStats stats() {
+        return products.synchronous().stats();
+    }
+
+    @Override
+    public Optional<Product> findProduct(int productId) {
+        return find(productId).product().map(VersionedProduct::product);
+    }
+
+    @Override
+    public Optional<VersionedProduct> findVersionedProduct(int productId) {
+        CachedProduct product = find(productId);
+        if (!product.versioned()) {
+            products.synchronous().invalidate(productId);
+            product = find(productId);
+        }
+        return product.product();
+    }
+
+    private CachedProduct find(int productId) {
+        var loading = new CompletableFuture<CachedProduct>();
+        CompletableFuture<CachedProduct> product = products.get(productId, (key, executor) -> loading);
+        if (product != loading) {
+            try {
+                return product.join();
+            } catch (CompletionException exception) {
+                if (exception.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw exception;
+            }
+        }
+
+        try {
+            var loaded = new CachedProduct(delegate.findVersionedProduct(productId), true);
+            loading.complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error exception) {
+            loading.completeExceptionally(exception);
+            throw exception;
+        }
+    }
+
+    @Override
+    public Product createProduct(String title, String details) {
+        Product product = delegate.createProduct(title, details);
+        products.put(product.id(), CompletableFuture.completedFuture(
+                new CachedProduct(Optional.of(new VersionedProduct(product, null)), false)));
+        return product;
+    }
+
+    @Override
+    public ValidationResult<Product> tryCreateProduct(String title, String details) {
+        ValidationResult<Product> result = delegate.tryCreateProduct(title, details);
+        if (result instanceof ValidationResult.Valid<Product>(Product product)) {
+            products.put(product.id(), CompletableFuture.completedFuture(
+                new CachedProduct(Optional.of(new VersionedProduct(product, null)), false)));
+        }
+        return result;
+    }
+
+    @Override
+    public void updateProduct(int productId, String title, String details) {
+        try {
+            delegate.updateProduct(productId, title, details);
+        } finally {
+            products.synchronous().invalidate(productId);
+        }
+    }
+
+    @Override
+    public void updateProduct(int productId, String title, String details, String version) {
+        try {
+            delegate.updateProduct(productId, title, details, version);
+        } finally {
+            products.synchronous().invalidate(productId);
+        }
+    }
+
+    @Override
+    public ValidationResult<Void> tryUpdateProduct(int productId, String title, String details, String version) {
+        try {
+            return delegate.tryUpdateProduct(productId, title, details, version);
+        } finally {
+            products.synchronous().invalidate(productId);
+        }
+    }
+
+    @Override
+    public void deleteProduct(int productId) {
+        try {
+            delegate.deleteProduct(productId);
+        } finally {
+            products.synchronous().invalidate(productId);
+        }
+    }
+
+    @Override
+    public void deleteProduct(int productId, String version) {
+        try {
+            delegate.deleteProduct(productId, version);
+        } finally {
+            products.synchronous().invalidate(productId);
+        }
+    }
+
+    public record CachedProduct(Optional<VersionedProduct> product, boolean versioned) {
+    }
+}
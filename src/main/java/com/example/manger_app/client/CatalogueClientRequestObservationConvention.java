@@ -0,0 +1,24 @@
+package com.example.manger_app.client;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+
+public class CatalogueClientRequestObservationConvention extends DefaultClientRequestObservationConvention {
+    private static final KeyValue OPERATION_NONE = KeyValue.of("operation", "NONE");
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ClientRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(operation(context));
+    }
+
+    private static KeyValue operation(ClientRequestObservationContext context) {
+        ClientHttpRequest request = context.getCarrier();
+        if (request == null) {
+            return OPERATION_NONE;
+        }
+        return KeyValue.of("operation", CatalogueOperation.of(request.getMethod(), request.getURI()).name());
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.manger_app.client;
+
+import org.springframework.http.HttpMethod;
+
+import java.net.URI;
+import java.util.regex.Pattern;
+
+public enum CatalogueOperation {
+    FIND_ALL_PRODUCTS,
+    FIND_PRODUCT,
+    CREATE_PRODUCT,
+    UPDATE_PRODUCT,
+    DELETE_PRODUCT;
+
+    private static final Pattern PRODUCT_PATH = Pattern.compile(".*/products/\\d+/?");
+
+    public static CatalogueOperation of(HttpMethod method, URI uri) {
+        if (HttpMethod.POST.equals(method)) {
+            return CREATE_PRODUCT;
+        }
+        if (HttpMethod.PATCH.equals(method)) {
+            return UPDATE_PRODUCT;
+        }
+        if (HttpMethod.DELETE.equals(method)) {
+            return DELETE_PRODUCT;
+        }
+        return uri.getPath() != null && PRODUCT_PATH.matcher(uri.getPath()).matches()
+                ? FIND_PRODUCT
+                : FIND_ALL_PRODUCTS;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.manger_app.client;
+
+public class CatalogueUnavailableException extends RuntimeException {
+    public CatalogueUnavailableException(String message) {
+        super(message);
+    }
+
+    public CatalogueUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
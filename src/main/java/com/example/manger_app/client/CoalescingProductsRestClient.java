@@ -0,0 +1,130 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import com.example.manger_app.entity.ProductsPage;
+import lombok.Setter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class CoalescingProductsRestClient extends DelegatingProductsRestClient {
+    private final ConcurrentMap<CallKey, CompletableFuture<Object>> inFlightCalls = new ConcurrentHashMap<>();
+
+    private final Scope scope;
+
+    private final LongAdder upstreamCalls = new LongAdder();
+
+    private final LongAdder coalescedCalls = new LongAdder();
+
+    @Setter
+    private SecurityContextHolderStrategy securityContextHolder =
+            SecurityContextHolder.getContextHolderStrategy();
+
+    public CoalescingProductsRestClient(ProductsRestClient delegate, Scope scope) {
+        super(delegate);
+        this.scope = scope;
+    }
+
+    public long getUpstreamCalls() {
+        return upstreamCalls.sum();
+    }
+
+    public long getCoalescedCalls() {
+        return coalescedCalls.sum();
+    }
+
+    @Override
+    public List<Product> findAllProducts(String filter) {
+        return coalesce(new CallKey("findAllProducts", List.of(String.valueOf(filter)), scopeKey()),
+                () -> delegate.findAllProducts(filter));
+    }
+
+    @Override
+    public ProductsPage findProducts(String filter, int page, int size) {
+        return coalesce(new CallKey("findProducts", List.of(String.valueOf(filter), page, size), scopeKey()),
+                () -> delegate.findProducts(filter, page, size));
+    }
+
+    @Override
+    public ProductsPage findProductsAfter(String filter, int afterId, int size) {
+        return coalesce(new CallKey("findProductsAfter", List.of(String.valueOf(filter), afterId, size), scopeKey()),
+                () -> delegate.findProductsAfter(filter, afterId, size));
+    }
+
+    @Override
+    public Optional<Product> findProduct(int productId) {
+        return coalesce(new CallKey("findProduct", List.of(productId), scopeKey()),
+                () -> delegate.findProduct(productId));
+    }
+
+    @Override
+    public Optional<VersionedProduct> findVersionedProduct(int productId) {
+        return coalesce(new CallKey("findVersionedProduct", List.of(productId), scopeKey()),
+                () -> delegate.findVersionedProduct(productId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T coalesce(CallKey key, Supplier<T> upstreamCall) {
+        var call = new CompletableFuture<Object>();
+        CompletableFuture<Object> inFlightCall = inFlightCalls.putIfAbsent(key, call);
+        if (inFlightCall != null) {
+            coalescedCalls.increment();
+            try {
+                return (T) inFlightCall.join();
+            } catch (CompletionException exception) {
+                if (exception.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw exception;
+            }
+        }
+
+        upstreamCalls.increment();
+        try {
+            T result = upstreamCall.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error exception) {
+            call.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlightCalls.remove(key, call);
+        }
+    }
+
+    private Object scopeKey() {
+        return scope.key(securityContextHolder.getContext().getAuthentication());
+    }
+
+    public enum Scope {
+        AUTHORITIES,
+        PRINCIPAL;
+
+        Object key(Authentication authentication) {
+            if (authentication == null) {
+                return null;
+            }
+
+            return switch (this) {
+                case PRINCIPAL -> authentication.getName();
+                case AUTHORITIES -> authentication.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toSet());
+            };
+        }
+    }
+
+    private record CallKey(String operation, List<Object> arguments, Object scope) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import com.example.manger_app.entity.ProductsPage;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public abstract class DelegatingProductsRestClient implements ProductsRestClient {
+    protected final ProductsRestClient delegate;
+
+    @Override
+    public List<Product> findAllProducts(String filter) {
+        return delegate.findAllProducts(filter);
+    }
+
+    @Override
+    public Stream<Product> streamAllProducts(String filter) {
+        return delegate.streamAllProducts(filter);
+    }
+
+    @Override
+    public ProductsPage findProducts(String filter, int page, int size) {
+        return delegate.findProducts(filter, page, size);
+    }
+
+    @Override
+    public ProductsPage findProductsAfter(String filter, int afterId, int size) {
+        return delegate.findProductsAfter(filter, afterId, size);
+    }
+
+    @Override
+    public Product createProduct(String title, String details) {
+        return delegate.createProduct(title, details);
+    }
+
+    @Override
+    public ValidationResult<Product> tryCreateProduct(String title, String details) {
+        return delegate.tryCreateProduct(title, details);
+    }
+
+    @Override
+    public Optional<Product> findProduct(int productId) {
+        return delegate.findProduct(productId);
+    }
+
+    @Override
+    public Optional<VersionedProduct> findVersionedProduct(int productId) {
+        return delegate.findVersionedProduct(productId);
+    }
+
+    @Override
+    public void updateProduct(int productId, String title, String details) {
+        delegate.updateProduct(productId, title, details);
+    }
+
+    @Override
+    public void updateProduct(int productId, String title, String details, String version) {
+        delegate.updateProduct(productId, title, details, version);
+    }
+
+    @Override
+    public ValidationResult<Void> tryUpdateProduct(int productId, String title, String details, String version) {
+        return delegate.tryUpdateProduct(productId, title, details, version);
+    }
+
+    @Override
+    public Optional<RejectedUpdate> takeRejectedUpdate(int productId) {
+        return delegate.takeRejectedUpdate(productId);
+    }
+
+    @Override
+    public void deleteProduct(int productId) {
+        delegate.deleteProduct(productId);
+    }
+
+    @Override
+    public void deleteProduct(int productId, String version) {
+        delegate.deleteProduct(productId, version);
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import com.example.manger_app.entity.ProductsPage;
+import lombok.Setter;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class HedgingProductsRestClient extends DelegatingProductsRestClient {
+    private static final long TOKEN = 1000;
+
+    private final ExecutorService executor;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Duration delay;
+
+    private final long tokensPerCall;
+
+    private final long maximumTokens;
+
+    private final AtomicLong tokens;
+
+    private final LongAdder hedgedCalls = new LongAdder();
+
+    private final LongAdder hedgeWins = new LongAdder();
+
+    @Setter
+    private SecurityContextHolderStrategy securityContextHolder =
+            SecurityContextHolder.getContextHolderStrategy();
+
+    @Setter
+    private TaskDecorator taskDecorator = task -> {
+        SecurityContext securityContext = securityContextHolder.getContext();
+        return () -> {
+            securityContextHolder.setContext(securityContext);
+            try {
+                task.run();
+            } finally {
+                securityContextHolder.clearContext();
+            }
+        };
+    };
+
+    public HedgingProductsRestClient(ProductsRestClient delegate, ExecutorService executor,
+                                     ScheduledExecutorService scheduler, Duration delay, double budgetPercent,
+                                     int maximumBurst) {
+        super(delegate);
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.delay = delay;
+        this.tokensPerCall = Math.round(budgetPercent * TOKEN / 100);
+        this.maximumTokens = maximumBurst * TOKEN;
+        this.tokens = new AtomicLong(this.maximumTokens);
+    }
+
+    public long getHedgedCalls() {
+        return hedgedCalls.sum();
+    }
+
+    public long getHedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    @Override
+    public List<Product> findAllProducts(String filter) {
+        return hedged(() -> delegate.findAllProducts(filter));
+    }
+
+    @Override
+    public ProductsPage findProducts(String filter, int page, int size) {
+        return hedged(() -> delegate.findProducts(filter, page, size));
+    }
+
+    @Override
+    public ProductsPage findProductsAfter(String filter, int afterId, int size) {
+        return hedged(() -> delegate.findProductsAfter(filter, afterId, size));
+    }
+
+    @Override
+    public Optional<Product> findProduct(int productId) {
+        return hedged(() -> delegate.findProduct(productId));
+    }
+
+    @Override
+    public Optional<VersionedProduct> findVersionedProduct(int productId) {
+        return hedged(() -> delegate.findVersionedProduct(productId));
+    }
+
+    private <T> T hedged(Supplier<T> call) {
+        tokens.accumulateAndGet(tokensPerCall, (current, deposit) -> Math.min(maximumTokens, current + deposit));
+
+        var hedge = new Hedge<T>(call);
+        Runnable attempt = taskDecorator.decorate(hedge);
+        hedge.primary = executor.submit(attempt);
+        ScheduledFuture<?> scheduledHedge = scheduler.schedule(() -> hedge.start(attempt),
+                delay.toNanos(), TimeUnit.NANOSECONDS);
+        try {
+            return hedge.result.get();
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (exception.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(exception.getCause());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        } finally {
+            scheduledHedge.cancel(false);
+            hedge.cancel();
+        }
+    }
+
+    private boolean withdrawToken() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    private final class Hedge<T> implements Runnable {
+        private final Supplier<T> call;
+
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private final AtomicInteger startedAttempts = new AtomicInteger();
+
+        private int pendingAttempts = 1;
+
+        private Future<?> primary;
+
+        private Future<?> hedge;
+
+        Hedge(Supplier<T> call) {
+            this.call = call;
+        }
+
+        synchronized void start(Runnable attempt) {
+            if (result.isDone() || !withdrawToken()) {
+                return;
+            }
+            hedgedCalls.increment();
+            pendingAttempts++;
+            hedge = executor.submit(attempt);
+        }
+
+        @Override
+        public void run() {
+            boolean isHedge = startedAttempts.getAndIncrement() > 0;
+            try {
+                if (result.complete(call.get()) && isHedge) {
+                    hedgeWins.increment();
+                }
+            } catch (RuntimeException | Error exception) {
+                synchronized (this) {
+                    if (--pendingAttempts == 0) {
+                        result.completeExceptionally(exception);
+                    }
+                }
+            }
+        }
+
+        synchronized void cancel() {
+            result.cancel(false);
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+}
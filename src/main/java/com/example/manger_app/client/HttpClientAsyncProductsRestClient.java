@@ -0,0 +1,227 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.controller.payload.NewProductPayload;
+import com.example.manger_app.controller.payload.UpdateProductPayload;
+import com.example.manger_app.entity.Product;
+import com.example.manger_app.security.OAuthClientHttpRequestInterceptor;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Setter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.UnknownContentTypeException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+public class HttpClientAsyncProductsRestClient implements AsyncProductsRestClient {
+    private static final TypeReference<List<Product>> PRODUCTS_TYPE_REFERENCE = new TypeReference<>() {
+    };
+
+    private final HttpClient httpClient;
+
+    private final String baseUri;
+
+    private final ObjectMapper objectMapper;
+
+    private final OAuthClientHttpRequestInterceptor authorizationInterceptor;
+
+    private final Executor executor;
+
+    private final Duration readTimeout;
+
+    @Setter
+    private SecurityContextHolderStrategy securityContextHolder =
+            SecurityContextHolder.getContextHolderStrategy();
+
+    public HttpClientAsyncProductsRestClient(HttpClient httpClient, String baseUri, ObjectMapper objectMapper,
+                                             OAuthClientHttpRequestInterceptor authorizationInterceptor,
+                                             Executor executor, Duration readTimeout) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.authorizationInterceptor = authorizationInterceptor;
+        this.executor = executor;
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public CompletableFuture<List<Product>> findAllProducts(String filter) {
+        return send(request(UriComponentsBuilder.fromUriString(baseUri)
+                        .path("/catalogue-api/products")
+                        .queryParam("filter", filter == null ? "" : filter))
+                        .GET(),
+                response -> {
+                    throwIfError(response);
+                    return read(response, PRODUCTS_TYPE_REFERENCE);
+                });
+    }
+
+    @Override
+    public CompletableFuture<Product> createProduct(String title, String details) {
+        return send(request(UriComponentsBuilder.fromUriString(baseUri)
+                        .path("/catalogue-api/products"))
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .POST(json(new NewProductPayload(title, details))),
+                response -> {
+                    throwIfBadRequest(response);
+                    throwIfError(response);
+                    return read(response, new TypeReference<Product>() {
+                    });
+                });
+    }
+
+    @Override
+    public CompletableFuture<Optional<Product>> findProduct(int productId) {
+        return send(request(UriComponentsBuilder.fromUriString(baseUri)
+                        .path("/catalogue-api/products/{productId}"), productId)
+                        .GET(),
+                response -> {
+                    if (response.statusCode() == HttpStatus.NOT_FOUND.value()) {
+                        return Optional.empty();
+                    }
+                    throwIfError(response);
+                    return Optional.ofNullable(read(response, new TypeReference<Product>() {
+                    }));
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> updateProduct(int productId, String title, String details) {
+        return send(request(UriComponentsBuilder.fromUriString(baseUri)
+                        .path("/catalogue-api/products/{productId}"), productId)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .method("PATCH", json(new UpdateProductPayload(title, details))),
+                response -> {
+                    throwIfBadRequest(response);
+                    throwIfError(response);
+                    return null;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteProduct(int productId) {
+        return send(request(UriComponentsBuilder.fromUriString(baseUri)
+                        .path("/catalogue-api/products/{productId}"), productId)
+                        .DELETE(),
+                response -> {
+                    if (response.statusCode() == HttpStatus.NOT_FOUND.value()) {
+                        throw new NoSuchElementException(errorFor(response));
+                    }
+                    throwIfError(response);
+                    return null;
+                });
+    }
+
+    private HttpRequest.Builder request(UriComponentsBuilder uri, Object... uriVariables) {
+        return HttpRequest.newBuilder(uri.encode().buildAndExpand(uriVariables).toUri())
+                .timeout(readTimeout)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private <T> CompletableFuture<T> send(HttpRequest.Builder request,
+                                          Function<HttpResponse<byte[]>, T> responseHandler) {
+        SecurityContext securityContext = securityContextHolder.getContext();
+        Authentication principal = securityContext.getAuthentication();
+        Executor securityContextExecutor = new DelegatingSecurityContextExecutor(executor, securityContext);
+
+        try {
+            request.header(HttpHeaders.AUTHORIZATION,
+                    "Bearer " + authorizationInterceptor.accessToken(principal).getTokenValue());
+        } catch (RuntimeException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApplyAsync(response -> {
+                    if (response.statusCode() == HttpStatus.UNAUTHORIZED.value()) {
+                        authorizationInterceptor.evictAccessToken(principal);
+                    }
+                    return responseHandler.apply(response);
+                }, securityContextExecutor);
+    }
+
+    private HttpRequest.BodyPublisher json(Object payload) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(payload));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private <T> T read(HttpResponse<byte[]> response, TypeReference<T> type) {
+        if (response.body().length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(response.body(), type);
+        } catch (IOException exception) {
+            throw new UnknownContentTypeException(objectMapper.getTypeFactory().constructType(type),
+                    MediaType.APPLICATION_JSON, HttpStatusCode.valueOf(response.statusCode()), "",
+                    headers(response), response.body());
+        }
+    }
+
+    private void throwIfBadRequest(HttpResponse<byte[]> response) {
+        if (response.statusCode() != HttpStatus.BAD_REQUEST.value()) {
+            return;
+        }
+
+        var errors = new ArrayList<String>();
+        try {
+            JsonNode problemDetail = objectMapper.readTree(response.body());
+            if (problemDetail != null) {
+                problemDetail.path("errors").forEach(error -> errors.add(error.asText()));
+            }
+        } catch (IOException exception) {
+            throw errorFor(response);
+        }
+        throw new BadRequestException(errors);
+    }
+
+    private void throwIfError(HttpResponse<byte[]> response) {
+        if (response.statusCode() >= 400) {
+            throw errorFor(response);
+        }
+    }
+
+    private static RuntimeException errorFor(HttpResponse<byte[]> response) {
+        HttpStatusCode statusCode = HttpStatusCode.valueOf(response.statusCode());
+        String statusText = statusCode instanceof HttpStatus status ? status.getReasonPhrase() : "";
+        if (statusCode.is5xxServerError()) {
+            return HttpServerErrorException.create(statusCode, statusText, headers(response), response.body(),
+                    StandardCharsets.UTF_8);
+        }
+        return HttpClientErrorException.create(statusCode, statusText, headers(response), response.body(),
+                StandardCharsets.UTF_8);
+    }
+
+    private static HttpHeaders headers(HttpResponse<?> response) {
+        var headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        return headers;
+    }
+}
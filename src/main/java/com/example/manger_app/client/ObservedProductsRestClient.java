@@ -0,0 +1,225 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import com.example.manger_app.entity.ProductsPage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class ObservedProductsRestClient extends DelegatingProductsRestClient {
+    private final MeterRegistry meterRegistry;
+
+    public ObservedProductsRestClient(ProductsRestClient delegate, MeterRegistry meterRegistry) {
+        super(delegate);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<Product> findAllProducts(String filter) {
+        return observed("findAllProducts", () -> delegate.findAllProducts(filter));
+    }
+
+    @Override
+    public Stream<Product> streamAllProducts(String filter) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Stream<Product> products = delegate.streamAllProducts(filter);
+            var spliterator = new ObservedSpliterator(products.spliterator());
+            return StreamSupport.stream(spliterator, products.isParallel())
+                    .onClose(products::close)
+                    .onClose(() -> stop(sample, "streamAllProducts", spliterator.outcome));
+        } catch (RuntimeException exception) {
+            stop(sample, "streamAllProducts", Outcome.of(exception));
+            throw exception;
+        }
+    }
+
+    @Override
+    public ProductsPage findProducts(String filter, int page, int size) {
+        return observed("findProducts", () -> delegate.findProducts(filter, page, size));
+    }
+
+    @Override
+    public ProductsPage findProductsAfter(String filter, int afterId, int size) {
+        return observed("findProductsAfter", () -> delegate.findProductsAfter(filter, afterId, size));
+    }
+
+    @Override
+    public Product createProduct(String title, String details) {
+        return observed("createProduct", () -> delegate.createProduct(title, details));
+    }
+
+    @Override
+    public ValidationResult<Product> tryCreateProduct(String title, String details) {
+        return observed("createProduct", () -> delegate.tryCreateProduct(title, details), Outcome::of);
+    }
+
+    @Override
+    public Optional<Product> findProduct(int productId) {
+        return observed("findProduct", () -> delegate.findProduct(productId),
+                product -> product.isPresent() ? Outcome.SUCCESS : Outcome.NOT_FOUND);
+    }
+
+    @Override
+    public Optional<VersionedProduct> findVersionedProduct(int productId) {
+        return observed("findProduct", () -> delegate.findVersionedProduct(productId),
+                product -> product.isPresent() ? Outcome.SUCCESS : Outcome.NOT_FOUND);
+    }
+
+    @Override
+    public void updateProduct(int productId, String title, String details) {
+        observed("updateProduct", () -> {
+            delegate.updateProduct(productId, title, details);
+            return null;
+        });
+    }
+
+    @Override
+    public void updateProduct(int productId, String title, String details, String version) {
+        observed("updateProduct", () -> {
+            delegate.updateProduct(productId, title, details, version);
+            return null;
+        });
+    }
+
+    @Override
+    public ValidationResult<Void> tryUpdateProduct(int productId, String title, String details, String version) {
+        return observed("updateProduct", () -> delegate.tryUpdateProduct(productId, title, details, version),
+                Outcome::of);
+    }
+
+    @Override
+    public void deleteProduct(int productId) {
+        observed("deleteProduct", () -> {
+            delegate.deleteProduct(productId);
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteProduct(int productId, String version) {
+        observed("deleteProduct", () -> {
+            delegate.deleteProduct(productId, version);
+            return null;
+        });
+    }
+
+    private <T> T observed(String operation, Supplier<T> call) {
+        return observed(operation, call, result -> Outcome.SUCCESS);
+    }
+
+    private <T> T observed(String operation, Supplier<T> call, Function<T, Outcome> outcome) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            T result = call.get();
+            stop(sample, operation, outcome.apply(result));
+            return result;
+        } catch (RuntimeException exception) {
+            stop(sample, operation, Outcome.of(exception));
+            throw exception;
+        }
+    }
+
+    private void stop(Timer.Sample sample, String operation, Outcome outcome) {
+        sample.stop(Timer.builder("catalogue.client.calls")
+                .tag("operation", operation)
+                .tag("outcome", outcome.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        if (outcome == Outcome.BAD_REQUEST) {
+            Counter.builder("catalogue.client.bad.requests")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .increment();
+        } else if (outcome == Outcome.NOT_FOUND) {
+            Counter.builder("catalogue.client.not.found")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private static final class ObservedSpliterator implements Spliterator<Product> {
+        private final Spliterator<Product> delegate;
+
+        private volatile Outcome outcome = Outcome.SUCCESS;
+
+        ObservedSpliterator(Spliterator<Product> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Product> action) {
+            try {
+                return delegate.tryAdvance(action);
+            } catch (RuntimeException exception) {
+                outcome = Outcome.of(exception);
+                throw exception;
+            }
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Product> action) {
+            try {
+                delegate.forEachRemaining(action);
+            } catch (RuntimeException exception) {
+                outcome = Outcome.of(exception);
+                throw exception;
+            }
+        }
+
+        @Override
+        public Spliterator<Product> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return delegate.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return delegate.characteristics();
+        }
+    }
+
+    enum Outcome {
+        SUCCESS,
+        BAD_REQUEST,
+        NOT_FOUND,
+        CONFLICT,
+        UNAVAILABLE,
+        ERROR;
+
+        static Outcome of(ValidationResult<?> result) {
+            return result instanceof ValidationResult.Invalid<?> ? BAD_REQUEST : SUCCESS;
+        }
+
+        static Outcome of(RuntimeException exception) {
+            if (exception instanceof BadRequestException) {
+                return BAD_REQUEST;
+            }
+            if (exception instanceof NoSuchElementException) {
+                return NOT_FOUND;
+            }
+            if (exception instanceof ConflictException) {
+                return CONFLICT;
+            }
+            if (exception instanceof CatalogueUnavailableException) {
+                return UNAVAILABLE;
+            }
+            return ERROR;
+        }
+    }
+}
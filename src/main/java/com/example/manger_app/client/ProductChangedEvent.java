@@ -0,0 +1,4 @@
+package com.example.manger_app.client;
+
+public record ProductChangedEvent(int productId) {
+}
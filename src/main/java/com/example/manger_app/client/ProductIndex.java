@@ -0,0 +1,239 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+public final class ProductIndex {
+    private static final int GRAM = 3;
+
+    private static final int[] NO_POSITIONS = new int[0];
+
+    private final Product[] products;
+
+    private final int[] ids;
+
+    private final Map<Long, int[]> postings;
+
+    private ProductIndex(Product[] products, Map<Long, int[]> postings) {
+        this.products = products;
+        this.ids = Arrays.stream(products).mapToInt(Product::id).toArray();
+        this.postings = postings;
+    }
+
+    public static ProductIndex of(Collection<Product> products) {
+        Product[] sorted = products.toArray(Product[]::new);
+        Arrays.sort(sorted, Comparator.comparingInt(Product::id));
+
+        var builders = new HashMap<Long, PostingsBuilder>();
+        var productGrams = new HashMap<Long, Boolean>();
+        for (int position = 0; position < sorted.length; position++) {
+            productGrams.clear();
+            addGrams(sorted[position].title(), productGrams);
+            addGrams(sorted[position].details(), productGrams);
+            for (Long gram : productGrams.keySet()) {
+                builders.computeIfAbsent(gram, key -> new PostingsBuilder()).add(position);
+            }
+        }
+
+        var postings = new HashMap<Long, int[]>(builders.size() * 4 / 3 + 1);
+        builders.forEach((gram, builder) -> postings.put(gram, builder.build()));
+        return new ProductIndex(sorted, postings);
+    }
+
+    public int size() {
+        return products.length;
+    }
+
+    public Product get(int position) {
+        return products[position];
+    }
+
+    public PrimitiveIterator.OfInt search(String filter, int afterId) {
+        int from = Arrays.binarySearch(ids, afterId);
+        from = from >= 0 ? from + 1 : -from - 1;
+        if (filter == null || filter.isEmpty()) {
+            return range(from);
+        }
+
+        String needle = filter.toLowerCase(Locale.ROOT);
+        if (needle.length() < GRAM) {
+            return verified(range(from), needle);
+        }
+
+        var queryGrams = new HashMap<Long, Boolean>();
+        addGrams(needle, queryGrams);
+        int[][] lists = new int[queryGrams.size()][];
+        int i = 0;
+        for (Long gram : queryGrams.keySet()) {
+            lists[i++] = postings.getOrDefault(gram, NO_POSITIONS);
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+        return verified(intersection(lists, from), needle);
+    }
+
+    public static boolean matches(Product product, String filter) {
+        return filter == null || filter.isEmpty()
+                || containsIgnoreCase(product.title(), filter)
+                || containsIgnoreCase(product.details(), filter);
+    }
+
+    private PrimitiveIterator.OfInt range(int from) {
+        return new PrimitiveIterator.OfInt() {
+            int next = from;
+
+            @Override
+            public boolean hasNext() {
+                return next < products.length;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return next++;
+            }
+        };
+    }
+
+    private PrimitiveIterator.OfInt intersection(int[][] lists, int from) {
+        return new PrimitiveIterator.OfInt() {
+            final int[] cursors = new int[lists.length];
+
+            int candidate = advance(from);
+
+            @Override
+            public boolean hasNext() {
+                return candidate >= 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int current = candidate;
+                candidate = advance(current + 1);
+                return current;
+            }
+
+            private int advance(int minimum) {
+                if (lists.length == 0) {
+                    return -1;
+                }
+                int target = minimum;
+                int agreed = 0;
+                int list = 0;
+                while (agreed < lists.length) {
+                    int[] positions = lists[list];
+                    int cursor = seek(positions, cursors[list], target);
+                    cursors[list] = cursor;
+                    if (cursor == positions.length) {
+                        return -1;
+                    }
+                    if (positions[cursor] == target) {
+                        agreed++;
+                    } else {
+                        target = positions[cursor];
+                        agreed = 1;
+                    }
+                    list = (list + 1) % lists.length;
+                }
+                return target;
+            }
+        };
+    }
+
+    private PrimitiveIterator.OfInt verified(PrimitiveIterator.OfInt candidates, String needle) {
+        return new PrimitiveIterator.OfInt() {
+            int next = find();
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int current = next;
+                next = find();
+                return current;
+            }
+
+            private int find() {
+                while (candidates.hasNext()) {
+                    int position = candidates.nextInt();
+                    if (matches(products[position], needle)) {
+                        return position;
+                    }
+                }
+                return -1;
+            }
+        };
+    }
+
+    private static int seek(int[] positions, int from, int target) {
+        if (from >= positions.length || positions[from] >= target) {
+            return from;
+        }
+        int bound = 1;
+        while (from + bound < positions.length && positions[from + bound] < target) {
+            bound <<= 1;
+        }
+        int position = Arrays.binarySearch(positions, from + (bound >> 1),
+                Math.min(from + bound, positions.length - 1) + 1, target);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    private static void addGrams(String text, Map<Long, Boolean> grams) {
+        if (text == null || text.length() < GRAM) {
+            return;
+        }
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i + GRAM <= lowerCase.length(); i++) {
+            grams.put(((long) lowerCase.charAt(i) << 32)
+                    | ((long) lowerCase.charAt(i + 1) << 16)
+                    | lowerCase.charAt(i + 2), Boolean.TRUE);
+        }
+    }
+
+    private static boolean containsIgnoreCase(String text, String needle) {
+        if (text == null) {
+            return false;
+        }
+        for (int i = 0; i + needle.length() <= text.length(); i++) {
+            if (text.regionMatches(true, i, needle, 0, needle.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class PostingsBuilder {
+        private int[] positions = new int[4];
+
+        private int size;
+
+        void add(int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        int[] build() {
+            return size == positions.length ? positions : Arrays.copyOf(positions, size);
+        }
+    }
+}
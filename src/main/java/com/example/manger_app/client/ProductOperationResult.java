@@ -0,0 +1,17 @@
+package com.example.manger_app.client;
+
+import java.util.List;
+
+public record ProductOperationResult(int productId, Status status, List<String> errors) {
+    public static ProductOperationResult ok(int productId) {
+        return new ProductOperationResult(productId, Status.OK, List.of());
+    }
+
+    public boolean isOk() {
+        return status == Status.OK;
+    }
+
+    public enum Status {
+        OK, INVALID, NOT_FOUND, CONFLICT, FAILED
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Setter;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ProductUpdateQueue implements SmartLifecycle {
+    private final ScheduledExecutorService scheduler;
+
+    private final Duration window;
+
+    private final ConcurrentMap<Integer, Window> windows = new ConcurrentHashMap<>();
+
+    private final Cache<RejectionKey, RejectedUpdate> rejectedUpdates;
+
+    private final LongAdder upstreamUpdates = new LongAdder();
+
+    private final LongAdder queuedUpdates = new LongAdder();
+
+    private final LongAdder coalescedUpdates = new LongAdder();
+
+    private final LongAdder failedUpdates = new LongAdder();
+
+    private volatile boolean running;
+
+    @Setter
+    private SecurityContextHolderStrategy securityContextHolder =
+            SecurityContextHolder.getContextHolderStrategy();
+
+    @Setter
+    private TaskDecorator taskDecorator = task -> {
+        SecurityContext securityContext = securityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(securityContextHolder.getContext().getAuthentication());
+        var runnable = new DelegatingSecurityContextRunnable(task, securityContext);
+        runnable.setSecurityContextHolderStrategy(securityContextHolder);
+        return runnable;
+    };
+
+    @Setter
+    private int titleMinLength = 3;
+
+    @Setter
+    private int titleMaxLength = 50;
+
+    @Setter
+    private int detailsMaxLength = 1000;
+
+    public ProductUpdateQueue(ScheduledExecutorService scheduler, Duration window,
+                              long rejectedUpdatesMaximumSize, Duration rejectedUpdatesTimeToLive) {
+        this.scheduler = scheduler;
+        this.window = window;
+        this.rejectedUpdates = Caffeine.newBuilder()
+                .maximumSize(rejectedUpdatesMaximumSize)
+                .expireAfterWrite(rejectedUpdatesTimeToLive)
+                .build();
+    }
+
+    public long getUpstreamUpdates() {
+        return upstreamUpdates.sum();
+    }
+
+    public long getQueuedUpdates() {
+        return queuedUpdates.sum();
+    }
+
+    public long getCoalescedUpdates() {
+        return coalescedUpdates.sum();
+    }
+
+    public long getFailedUpdates() {
+        return failedUpdates.sum();
+    }
+
+    public int getPendingUpdates() {
+        return windows.size();
+    }
+
+    public ValidationResult<Void> update(ProductsRestClient upstream, int productId, String title, String details,
+                                         String version) {
+        String principal = principal(securityContextHolder.getContext());
+        rejectedUpdates.invalidate(new RejectionKey(productId, principal));
+        Window current = windows.get(productId);
+        if (current != null) {
+            current.lock.lock();
+            try {
+                if (!current.closed) {
+                    PendingUpdate pending = current.pending;
+                    if (Objects.equals(current.principal, principal)
+                            && (pending == null || Objects.equals(pending.version(), version))
+                            && isValid(title, details)) {
+                        (pending == null ? queuedUpdates : coalescedUpdates).increment();
+                        var update = new PendingUpdate(title, details, version, principal);
+                        current.send = taskDecorator.decorate(() -> send(current.upstream, productId, update));
+                        current.pending = update;
+                        return new ValidationResult.Valid<>(null);
+                    }
+                    flush(productId, current);
+                }
+            } finally {
+                current.lock.unlock();
+            }
+        }
+
+        ValidationResult<Void> result = upstream.tryUpdateProduct(productId, title, details, version);
+        upstreamUpdates.increment();
+        if (running && result instanceof ValidationResult.Valid<Void>) {
+            open(upstream, productId, principal);
+        }
+        return result;
+    }
+
+    public void flush(int productId) {
+        Window current = windows.get(productId);
+        if (current != null) {
+            flush(productId, current);
+        }
+    }
+
+    public Product pending(Product product) {
+        Window current = windows.get(product.id());
+        PendingUpdate pending = current == null ? null : current.pending;
+        return pending == null ? product : new Product(product.id(), pending.title(), pending.details());
+    }
+
+    public Optional<RejectedUpdate> takeRejectedUpdate(int productId) {
+        return Optional.ofNullable(rejectedUpdates.asMap()
+                .remove(new RejectionKey(productId, principal(securityContextHolder.getContext()))));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        windows.forEach(this::flush);
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1;
+    }
+
+    private void open(ProductsRestClient upstream, int productId, String principal) {
+        var opened = new Window(upstream, principal);
+        if (windows.putIfAbsent(productId, opened) == null) {
+            try {
+                scheduler.schedule(() -> flush(productId, opened), window.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException exception) {
+                flush(productId, opened);
+            }
+        }
+    }
+
+    private void flush(int productId, Window current) {
+        current.lock.lock();
+        try {
+            if (current.closed) {
+                return;
+            }
+            current.closed = true;
+            PendingUpdate pending = current.pending;
+            if (pending != null) {
+                current.send.run();
+                current.pending = null;
+                current.send = null;
+            }
+        } finally {
+            current.lock.unlock();
+            windows.remove(productId, current);
+        }
+    }
+
+    private boolean isValid(String title, String details) {
+        return title != null && title.length() >= titleMinLength && title.length() <= titleMaxLength
+                && (details == null || details.length() <= detailsMaxLength);
+    }
+
+    private void send(ProductsRestClient upstream, int productId, PendingUpdate pending) {
+        try {
+            upstreamUpdates.increment();
+            if (upstream.tryUpdateProduct(productId, pending.title(), pending.details(), pending.version())
+                    instanceof ValidationResult.Invalid<Void>(List<String> errors)) {
+                reject(productId, pending, errors);
+            }
+        } catch (RuntimeException exception) {
+            reject(productId, pending, List.of(String.valueOf(exception.getMessage())));
+        }
+    }
+
+    private void reject(int productId, PendingUpdate pending, List<String> errors) {
+        failedUpdates.increment();
+        rejectedUpdates.put(new RejectionKey(productId, pending.principal()),
+                new RejectedUpdate(productId, pending.title(), pending.details(), errors));
+    }
+
+    private static String principal(SecurityContext securityContext) {
+        Authentication authentication = securityContext.getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+
+    private static final class Window {
+        final ProductsRestClient upstream;
+
+        final String principal;
+
+        final ReentrantLock lock = new ReentrantLock();
+
+        volatile PendingUpdate pending;
+
+        Runnable send;
+
+        boolean closed;
+
+        Window(ProductsRestClient upstream, String principal) {
+            this.upstream = upstream;
+            this.principal = principal;
+        }
+    }
+
+    private record PendingUpdate(String title, String details, String version, String principal) {
+    }
+
+    private record RejectionKey(int productId, String principal) {
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import lombok.Setter;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+public class ProductsReplica implements SmartLifecycle {
+    private final ProductsRestClient upstream;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Duration fullSyncInterval;
+
+    private final Duration maxStaleness;
+
+    private final ConcurrentMap<Integer, Change> changes = new ConcurrentHashMap<>();
+
+    private final LongAdder fullSyncs = new LongAdder();
+
+    private final LongAdder failedSyncs = new LongAdder();
+
+    private volatile Snapshot snapshot;
+
+    private volatile ScheduledFuture<?> fullSync;
+
+    @Setter
+    private Clock clock = Clock.systemUTC();
+
+    public ProductsReplica(ProductsRestClient upstream, ScheduledExecutorService scheduler,
+                           Duration fullSyncInterval, Duration maxStaleness) {
+        this.upstream = upstream;
+        this.scheduler = scheduler;
+        this.fullSyncInterval = fullSyncInterval;
+        this.maxStaleness = maxStaleness;
+    }
+
+    public long getFullSyncs() {
+        return fullSyncs.sum();
+    }
+
+    public long getFailedSyncs() {
+        return failedSyncs.sum();
+    }
+
+    public int getSize() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.index().size();
+    }
+
+    public double getAgeSeconds() {
+        Snapshot current = snapshot;
+        return current == null ? Double.NaN : Duration.between(current.syncedAt(), clock.instant()).toMillis() / 1000.0;
+    }
+
+    public boolean isFresh() {
+        return isFresh(snapshot);
+    }
+
+    public Optional<List<Product>> findProducts(String filter, int afterId, int skip, int limit) {
+        Snapshot current = snapshot;
+        if (!isFresh(current)) {
+            return Optional.empty();
+        }
+
+        List<Product> changed = changes.values().stream()
+                .map(Change::product)
+                .filter(product -> product != null && product.id() > afterId && ProductIndex.matches(product, filter))
+                .sorted(Comparator.comparingInt(Product::id))
+                .toList();
+        PrimitiveIterator.OfInt positions = current.index().search(filter, afterId);
+
+        var result = new ArrayList<Product>(Math.min(limit, 64));
+        int changedPosition = 0;
+        Product next = nextUnchanged(current.index(), positions);
+        while (result.size() < limit) {
+            Product candidate;
+            if (changedPosition < changed.size() && (next == null || changed.get(changedPosition).id() < next.id())) {
+                candidate = changed.get(changedPosition++);
+            } else if (next != null) {
+                candidate = next;
+                next = nextUnchanged(current.index(), positions);
+            } else {
+                break;
+            }
+            if (skip > 0) {
+                skip--;
+            } else {
+                result.add(candidate);
+            }
+        }
+        return Optional.of(result);
+    }
+
+    public void sync() {
+        Instant startedAt = clock.instant();
+        try (Stream<Product> products = upstream.streamAllProducts(null)) {
+            snapshot = new Snapshot(ProductIndex.of(products.toList()), startedAt);
+        }
+        changes.values().removeIf(change -> change.changedAt().isBefore(startedAt));
+        fullSyncs.increment();
+    }
+
+    public void refresh(int productId) {
+        Instant changedAt = clock.instant();
+        changes.put(productId, new Change(upstream.findProduct(productId).orElse(null), changedAt));
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (isRunning()) {
+            scheduler.execute(() -> {
+                try {
+                    refresh(event.productId());
+                } catch (RuntimeException exception) {
+                    failedSyncs.increment();
+                }
+            });
+        }
+    }
+
+    @Override
+    public void start() {
+        fullSync = scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                sync();
+            } catch (RuntimeException exception) {
+                failedSyncs.increment();
+            }
+        }, 0, fullSyncInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledFuture<?> current = fullSync;
+        if (current != null) {
+            current.cancel(true);
+            fullSync = null;
+        }
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return fullSync != null;
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null && !clock.instant().isAfter(current.syncedAt().plus(maxStaleness));
+    }
+
+    private Product nextUnchanged(ProductIndex index, PrimitiveIterator.OfInt positions) {
+        while (positions.hasNext()) {
+            Product product = index.get(positions.nextInt());
+            if (!changes.containsKey(product.id())) {
+                return product;
+            }
+        }
+        return null;
+    }
+
+    private record Snapshot(ProductIndex index, Instant syncedAt) {
+    }
+
+    private record Change(Product product, Instant changedAt) {
+    }
+}
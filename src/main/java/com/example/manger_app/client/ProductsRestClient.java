@@ -1,18 +1,53 @@
 package com.example.manger_app.client;
 
 import com.example.manger_app.entity.Product;
+import com.example.manger_app.entity.ProductsPage;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProductsRestClient {
     List<Product> findAllProducts(String filter);
 
+    Stream<Product> streamAllProducts(String filter);
+
+    ProductsPage findProducts(String filter, int page, int size);
+
+    ProductsPage findProductsAfter(String filter, int afterId, int size);
+
     Product createProduct(String title, String details);
 
+    default ValidationResult<Product> tryCreateProduct(String title, String details) {
+        try {
+            return new ValidationResult.Valid<>(createProduct(title, details));
+        } catch (BadRequestException exception) {
+            return new ValidationResult.Invalid<>(exception.getErrors());
+        }
+    }
+
     Optional<Product> findProduct(int productId);
 
+    Optional<VersionedProduct> findVersionedProduct(int productId);
+
     void updateProduct(int productId, String title, String details);
 
+    void updateProduct(int productId, String title, String details, String version);
+
+    default ValidationResult<Void> tryUpdateProduct(int productId, String title, String details, String version) {
+        try {
+            updateProduct(productId, title, details, version);
+            return new ValidationResult.Valid<>(null);
+        } catch (BadRequestException exception) {
+            return new ValidationResult.Invalid<>(exception.getErrors());
+        }
+    }
+
+    default Optional<RejectedUpdate> takeRejectedUpdate(int productId) {
+        return Optional.empty();
+    }
+
     void deleteProduct(int productId);
+
+    void deleteProduct(int productId, String version);
 }
@@ -0,0 +1,74 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import org.springframework.context.ApplicationEventPublisher;
+
+public class PublishingProductsRestClient extends DelegatingProductsRestClient {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PublishingProductsRestClient(ProductsRestClient delegate, ApplicationEventPublisher eventPublisher) {
+        super(delegate);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Product createProduct(String title, String details) {
+        Product product = delegate.createProduct(title, details);
+        eventPublisher.publishEvent(new ProductChangedEvent(product.id()));
+        return product;
+    }
+
+    @Override
+    public ValidationResult<Product> tryCreateProduct(String title, String details) {
+        ValidationResult<Product> result = delegate.tryCreateProduct(title, details);
+        if (result instanceof ValidationResult.Valid<Product>(Product product)) {
+            eventPublisher.publishEvent(new ProductChangedEvent(product.id()));
+        }
+        return result;
+    }
+
+    @Override
+    public void updateProduct(int productId, String title, String details) {
+        try {
+            delegate.updateProduct(productId, title, details);
+        } finally {
+            eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        }
+    }
+
+    @Override
+    public void updateProduct(int productId, String title, String details, String version) {
+        try {
+            delegate.updateProduct(productId, title, details, version);
+        } finally {
+            eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        }
+    }
+
+    @Override
+    public ValidationResult<Void> tryUpdateProduct(int productId, String title, String details, String version) {
+        try {
+            return delegate.tryUpdateProduct(productId, title, details, version);
+        } finally {
+            eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        }
+    }
+
+    @Override
+    public void deleteProduct(int productId) {
+        try {
+            delegate.deleteProduct(productId);
+        } finally {
+            eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        }
+    }
+
+    @Override
+    public void deleteProduct(int productId, String version) {
+        try {
+            delegate.deleteProduct(productId, version);
+        } finally {
+            eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.manger_app.client;
+
+import java.util.List;
+
+public record RejectedUpdate(int productId, String title, String details, List<String> errors) {
+}
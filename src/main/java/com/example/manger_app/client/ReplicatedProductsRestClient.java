@@ -0,0 +1,68 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import com.example.manger_app.entity.ProductsPage;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+public class ReplicatedProductsRestClient extends DelegatingProductsRestClient {
+    private final ProductsReplica replica;
+
+    private final LongAdder replicaCalls = new LongAdder();
+
+    private final LongAdder upstreamCalls = new LongAdder();
+
+    public ReplicatedProductsRestClient(ProductsRestClient delegate, ProductsReplica replica) {
+        super(delegate);
+        this.replica = replica;
+    }
+
+    public long getReplicaCalls() {
+        return replicaCalls.sum();
+    }
+
+    public long getUpstreamCalls() {
+        return upstreamCalls.sum();
+    }
+
+    @Override
+    public List<Product> findAllProducts(String filter) {
+        return counted(replica.findProducts(filter, Integer.MIN_VALUE, 0, Integer.MAX_VALUE))
+                .orElseGet(() -> delegate.findAllProducts(filter));
+    }
+
+    @Override
+    public Stream<Product> streamAllProducts(String filter) {
+        return counted(replica.findProducts(filter, Integer.MIN_VALUE, 0, Integer.MAX_VALUE))
+                .map(List::stream)
+                .orElseGet(() -> delegate.streamAllProducts(filter));
+    }
+
+    @Override
+    public ProductsPage findProducts(String filter, int page, int size) {
+        return counted(replica.findProducts(filter, Integer.MIN_VALUE, page * size, size + 1))
+                .map(products -> productsPage(products, size))
+                .orElseGet(() -> delegate.findProducts(filter, page, size));
+    }
+
+    @Override
+    public ProductsPage findProductsAfter(String filter, int afterId, int size) {
+        return counted(replica.findProducts(filter, afterId, 0, size + 1))
+                .map(products -> productsPage(products, size))
+                .orElseGet(() -> delegate.findProductsAfter(filter, afterId, size));
+    }
+
+    private <T> Optional<T> counted(Optional<T> result) {
+        (result.isPresent() ? replicaCalls : upstreamCalls).increment();
+        return result;
+    }
+
+    private static ProductsPage productsPage(List<Product> products, int size) {
+        return products.size() > size
+                ? new ProductsPage(products.subList(0, size), size, true)
+                : new ProductsPage(products, size, false);
+    }
+}
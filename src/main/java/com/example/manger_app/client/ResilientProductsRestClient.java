@@ -0,0 +1,198 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import com.example.manger_app.entity.ProductsPage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.Setter;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+public class ResilientProductsRestClient extends DelegatingProductsRestClient {
+    public static final String STALE_ATTRIBUTE = "catalogueStale";
+
+    private final CircuitBreakerRegistry circuitBreakers;
+
+    private final BulkheadRegistry bulkheads;
+
+    private final Cache<String, Map<Object, Object>> lastKnownGood;
+
+    private final CoalescingProductsRestClient.Scope scope;
+
+    @Setter
+    private SecurityContextHolderStrategy securityContextHolder =
+            SecurityContextHolder.getContextHolderStrategy();
+
+    public ResilientProductsRestClient(ProductsRestClient delegate, CircuitBreakerRegistry circuitBreakers,
+                                       BulkheadRegistry bulkheads, long lastKnownGoodMaximumWeight,
+                                       CoalescingProductsRestClient.Scope scope) {
+        super(delegate);
+        this.circuitBreakers = circuitBreakers;
+        this.bulkheads = bulkheads;
+        this.scope = scope;
+        this.lastKnownGood = Caffeine.newBuilder()
+                .maximumWeight(lastKnownGoodMaximumWeight)
+                .weigher((String key, Map<Object, Object> results) -> results.values().stream()
+                        .mapToInt(value -> switch (value) {
+                            case List<?> products -> products.size() + 1;
+                            case ProductsPage page -> page.products().size() + 1;
+                            default -> 1;
+                        })
+                        .sum())
+                .build();
+    }
+
+    @Override
+    public List<Product> findAllProducts(String filter) {
+        return read(key("findAllProducts", filter), "findAllProducts", () -> delegate.findAllProducts(filter));
+    }
+
+    @Override
+    public Stream<Product> streamAllProducts(String filter) {
+        return call("streamAllProducts", () -> delegate.streamAllProducts(filter));
+    }
+
+    @Override
+    public ProductsPage findProducts(String filter, int page, int size) {
+        return read(key("findProducts", filter, page, size), "findProducts",
+                () -> delegate.findProducts(filter, page, size));
+    }
+
+    @Override
+    public ProductsPage findProductsAfter(String filter, int afterId, int size) {
+        return read(key("findProductsAfter", filter, afterId, size), "findProductsAfter",
+                () -> delegate.findProductsAfter(filter, afterId, size));
+    }
+
+    @Override
+    public Product createProduct(String title, String details) {
+        return call("createProduct", () -> delegate.createProduct(title, details));
+    }
+
+    @Override
+    public ValidationResult<Product> tryCreateProduct(String title, String details) {
+        return call("createProduct", () -> delegate.tryCreateProduct(title, details));
+    }
+
+    @Override
+    public Optional<Product> findProduct(int productId) {
+        return read(key("findProduct", productId), "findProduct", () -> delegate.findProduct(productId));
+    }
+
+    @Override
+    public Optional<VersionedProduct> findVersionedProduct(int productId) {
+        return read(key("findVersionedProduct", productId), "findProduct",
+                () -> delegate.findVersionedProduct(productId));
+    }
+
+    @Override
+    public void updateProduct(int productId, String title, String details) {
+        updateProduct(productId, title, details, null);
+    }
+
+    @Override
+    public void updateProduct(int productId, String title, String details, String version) {
+        call("updateProduct", () -> {
+            delegate.updateProduct(productId, title, details, version);
+            return null;
+        });
+        invalidateProduct(productId);
+    }
+
+    @Override
+    public ValidationResult<Void> tryUpdateProduct(int productId, String title, String details, String version) {
+        ValidationResult<Void> result = call("updateProduct",
+                () -> delegate.tryUpdateProduct(productId, title, details, version));
+        invalidateProduct(productId);
+        return result;
+    }
+
+    @Override
+    public void deleteProduct(int productId) {
+        deleteProduct(productId, null);
+    }
+
+    @Override
+    public void deleteProduct(int productId, String version) {
+        call("deleteProduct", () -> {
+            delegate.deleteProduct(productId, version);
+            return null;
+        });
+        invalidateProduct(productId);
+    }
+
+    private void invalidateProduct(int productId) {
+        lastKnownGood.invalidate(key("findProduct", productId));
+        lastKnownGood.invalidate(key("findVersionedProduct", productId));
+    }
+
+    private <T> T read(String key, String operation, Supplier<T> supplier) {
+        try {
+            T result = call(operation, supplier);
+            if (result != null) {
+                Object scopeKey = scopeKey();
+                lastKnownGood.asMap().compute(key, (k, results) -> {
+                    var scopedResults = results == null ? new HashMap<Object, Object>() : new HashMap<>(results);
+                    scopedResults.put(scopeKey, result);
+                    return scopedResults;
+                });
+            }
+            return result;
+        } catch (CatalogueUnavailableException exception) {
+            return stale(key, exception);
+        }
+    }
+
+    private <T> T call(String operation, Supplier<T> supplier) {
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(operation);
+        Bulkhead bulkhead = bulkheads.bulkhead(operation);
+        try {
+            return Bulkhead.decorateSupplier(bulkhead,
+                    CircuitBreaker.decorateSupplier(circuitBreaker, supplier)).get();
+        } catch (CallNotPermittedException | BulkheadFullException | ResourceAccessException |
+                 HttpServerErrorException exception) {
+            throw new CatalogueUnavailableException("catalogue.errors.unavailable", exception);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T stale(String key, CatalogueUnavailableException exception) {
+        Map<Object, Object> results = lastKnownGood.getIfPresent(key);
+        T result = results == null ? null : (T) results.get(scopeKey());
+        if (result == null) {
+            throw exception;
+        }
+
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(STALE_ATTRIBUTE, true, RequestAttributes.SCOPE_REQUEST);
+        }
+        return result;
+    }
+
+    private Object scopeKey() {
+        return scope.key(securityContextHolder.getContext().getAuthentication());
+    }
+
+    private static String key(String operation, Object... arguments) {
+        return operation + Arrays.toString(arguments);
+    }
+}
@@ -3,87 +3,302 @@ package com.example.manger_app.client;
 import com.example.manger_app.controller.payload.NewProductPayload;
 import com.example.manger_app.controller.payload.UpdateProductPayload;
 import com.example.manger_app.entity.Product;
-import lombok.RequiredArgsConstructor;
+import com.example.manger_app.entity.ProductsPage;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestClient;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-@RequiredArgsConstructor
 public class RestClientProductsRestClient implements ProductsRestClient {
     private static final ParameterizedTypeReference<List<Product>> PRODUCTS_TYPE_REFERENCE = new ParameterizedTypeReference<>() {
     };
+    private static final ParameterizedTypeReference<Product> PRODUCT_TYPE_REFERENCE = new ParameterizedTypeReference<>() {
+    };
+    private static final long DEFAULT_VALIDATED_RESPONSES_MAXIMUM_WEIGHT = 100_000;
+    private static final ResponseErrorHandler RESPONSE_ERROR_HANDLER = new DefaultResponseErrorHandler();
+
     private final RestClient restClient;
 
+    private final ObjectReader productReader;
+
+    private final Cache<String, ValidatedResponse<?>> validatedResponses;
+
+    public RestClientProductsRestClient(RestClient restClient) {
+        this(restClient, Jackson2ObjectMapperBuilder.json().build(), DEFAULT_VALIDATED_RESPONSES_MAXIMUM_WEIGHT);
+    }
+
+    public RestClientProductsRestClient(RestClient restClient, ObjectMapper objectMapper,
+                                        long validatedResponsesMaximumWeight) {
+        this.restClient = restClient;
+        this.productReader = objectMapper.readerFor(Product.class);
+        this.validatedResponses = Caffeine.newBuilder()
+                .maximumWeight(validatedResponsesMaximumWeight)
+                .weigher((String key, ValidatedResponse<?> response) ->
+                        response.body() instanceof List<?> products ? products.size() + 1 : 1)
+                .build();
+    }
+
     @Override
     public List<Product> findAllProducts(String filter) {
+        return getConditionally("products?filter=%s".formatted(filter == null ? "" : filter),
+                restClient
+                        .get()
+                        .uri("/catalogue-api/products?filter={filter}", filter),
+                PRODUCTS_TYPE_REFERENCE).body();
+    }
+
+    @Override
+    public Stream<Product> streamAllProducts(String filter) {
         return restClient
                 .get()
                 .uri("/catalogue-api/products?filter={filter}", filter)
-                .retrieve()
-                .body(PRODUCTS_TYPE_REFERENCE);
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange((request, response) -> {
+                    MappingIterator<Product> products;
+                    try {
+                        if (response.getStatusCode().isError()) {
+                            RESPONSE_ERROR_HANDLER.handleError(request.getURI(), request.getMethod(), response);
+                        }
+                        products = productReader.readValues(response.getBody());
+                    } catch (Exception exception) {
+                        response.close();
+                        throw exception;
+                    }
+                    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(products,
+                                    Spliterator.ORDERED | Spliterator.NONNULL), false)
+                            .onClose(() -> {
+                                try {
+                                    products.close();
+                                } catch (IOException ignored) {
+                                } finally {
+                                    response.close();
+                                }
+                            });
+                }, false);
     }
 
     @Override
-    public Product createProduct(String title, String details) {
-        try {
-            return restClient
-                    .post()
-                    .uri("/catalogue-api/products")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(new NewProductPayload(title, details))
-                    .retrieve()
-                    .body(Product.class);
-        } catch (HttpClientErrorException.BadRequest exception) {
-            ProblemDetail problemDetail = exception.getResponseBodyAs(ProblemDetail.class);
-            throw new BadRequestException((List<String>) problemDetail.getProperties().get("errors"));
+    public ProductsPage findProducts(String filter, int page, int size) {
+        List<Product> products = getConditionally("products?filter=%s&page=%d&size=%d"
+                        .formatted(filter == null ? "" : filter, page, size),
+                restClient
+                        .get()
+                        .uri("/catalogue-api/products?filter={filter}&page={page}&size={size}", filter, page, size),
+                PRODUCTS_TYPE_REFERENCE).body();
+        return productsPage(products, size);
+    }
+
+    @Override
+    public ProductsPage findProductsAfter(String filter, int afterId, int size) {
+        List<Product> products = getConditionally("products?filter=%s&after=%d&size=%d"
+                        .formatted(filter == null ? "" : filter, afterId, size + 1),
+                restClient
+                        .get()
+                        .uri("/catalogue-api/products?filter={filter}&after={afterId}&size={size}",
+                                filter, afterId, size + 1),
+                PRODUCTS_TYPE_REFERENCE).body();
+        if (products == null || products.size() <= size) {
+            return new ProductsPage(products == null ? List.of() : products, size, false);
         }
+        return new ProductsPage(products.subList(0, size), size, true);
+    }
+
+    @Override
+    public Product createProduct(String title, String details) {
+        return switch (tryCreateProduct(title, details)) {
+            case ValidationResult.Valid<Product>(Product product) -> product;
+            case ValidationResult.Invalid<Product>(List<String> errors) -> throw new BadRequestException(errors);
+        };
+    }
+
+    @Override
+    public ValidationResult<Product> tryCreateProduct(String title, String details) {
+        return restClient
+                .post()
+                .uri("/catalogue-api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new NewProductPayload(title, details))
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isSameCodeAs(HttpStatus.BAD_REQUEST)) {
+                        return new ValidationResult.Invalid<>(errors(response.bodyTo(ProblemDetail.class)));
+                    }
+                    if (response.getStatusCode().isError()) {
+                        RESPONSE_ERROR_HANDLER.handleError(request.getURI(), request.getMethod(), response);
+                    }
+                    return new ValidationResult.Valid<>(response.bodyTo(Product.class));
+                });
     }
 
     @Override
     public Optional<Product> findProduct(int productId) {
+        return findVersionedProduct(productId).map(VersionedProduct::product);
+    }
+
+    @Override
+    public Optional<VersionedProduct> findVersionedProduct(int productId) {
+        String key = productKey(productId);
         try {
-            return Optional.ofNullable(restClient.get()
-                    .uri("/catalogue-api/products/{productId}", productId)
-                    .retrieve()
-                    .body(Product.class));
+            ValidatedResponse<Product> response = getConditionally(key, restClient.get()
+                    .uri("/catalogue-api/products/{productId}", productId), PRODUCT_TYPE_REFERENCE);
+            return Optional.ofNullable(response.body())
+                    .map(product -> new VersionedProduct(product, strongETag(response.eTag())));
         } catch (HttpClientErrorException.NotFound exception) {
+            validatedResponses.invalidate(key);
             return Optional.empty();
         }
     }
 
     @Override
     public void updateProduct(int productId, String title, String details) {
+        updateProduct(productId, title, details, null);
+    }
+
+    @Override
+    public void updateProduct(int productId, String title, String details, String version) {
+        if (tryUpdateProduct(productId, title, details, version)
+                instanceof ValidationResult.Invalid<Void>(List<String> errors)) {
+            throw new BadRequestException(errors);
+        }
+    }
+
+    @Override
+    public ValidationResult<Void> tryUpdateProduct(int productId, String title, String details, String version) {
         try {
-            restClient
+            return restClient
                     .patch()
                     .uri("/catalogue-api/products/{productId}", productId)
+                    .headers(headers -> ifMatch(headers, version))
                     .contentType(MediaType.APPLICATION_JSON)
                     .body(new UpdateProductPayload(title, details))
-                    .retrieve()
-                    .toBodilessEntity();
-        } catch (HttpClientErrorException.BadRequest exception) {
-            ProblemDetail problemDetail = exception.getResponseBodyAs(ProblemDetail.class);
-            throw new BadRequestException((List<String>) problemDetail.getProperties().get("errors"));
+                    .exchange((request, response) -> {
+                        HttpStatusCode status = response.getStatusCode();
+                        if (status.isSameCodeAs(HttpStatus.BAD_REQUEST)) {
+                            return new ValidationResult.Invalid<>(errors(response.bodyTo(ProblemDetail.class)));
+                        }
+                        if (status.isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                            throw new NoSuchElementException("catalogue.errors.product.not_found");
+                        }
+                        if (status.isSameCodeAs(HttpStatus.PRECONDITION_FAILED)
+                                || status.isSameCodeAs(HttpStatus.CONFLICT)) {
+                            throw new ConflictException("catalogue.errors.product.conflict");
+                        }
+                        if (status.isError()) {
+                            RESPONSE_ERROR_HANDLER.handleError(request.getURI(), request.getMethod(), response);
+                        }
+                        return new ValidationResult.Valid<>(null);
+                    });
+        } finally {
+            validatedResponses.invalidate(productKey(productId));
         }
     }
 
     @Override
     public void deleteProduct(int productId) {
+        deleteProduct(productId, null);
+    }
+
+    @Override
+    public void deleteProduct(int productId, String version) {
         try {
             restClient.delete()
                     .uri("/catalogue-api/products/{productId}", productId)
+                    .headers(headers -> ifMatch(headers, version))
                     .retrieve()
                     .toBodilessEntity();
         } catch (HttpClientErrorException.NotFound exception) {
-            throw new NoSuchElementException(exception);
+            throw new NoSuchElementException("catalogue.errors.product.not_found", exception);
+        } catch (HttpClientErrorException exception) {
+            if (exception.getStatusCode().isSameCodeAs(HttpStatus.PRECONDITION_FAILED)
+                    || exception.getStatusCode().isSameCodeAs(HttpStatus.CONFLICT)) {
+                throw new ConflictException("catalogue.errors.product.conflict", exception);
+            }
+            throw exception;
+        } finally {
+            validatedResponses.invalidate(productKey(productId));
+        }
+    }
+
+    private <T> ValidatedResponse<T> getConditionally(String key, RestClient.RequestHeadersSpec<?> request,
+                                                      ParameterizedTypeReference<T> bodyType) {
+        @SuppressWarnings("unchecked")
+        ValidatedResponse<T> validated = (ValidatedResponse<T>) validatedResponses.getIfPresent(key);
+        if (validated != null) {
+            request.headers(headers -> {
+                if (validated.eTag() != null) {
+                    headers.setIfNoneMatch(validated.eTag());
+                } else {
+                    headers.setIfModifiedSince(validated.lastModified());
+                }
+            });
+        }
+
+        ResponseEntity<T> response = request.retrieve().toEntity(bodyType);
+        if (validated != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            return validated;
+        }
+
+        HttpHeaders headers = response.getHeaders();
+        var fresh = new ValidatedResponse<>(headers.getETag(), headers.getLastModified(), response.getBody());
+        if (fresh.body() != null && (fresh.eTag() != null || fresh.lastModified() != -1)) {
+            validatedResponses.put(key, fresh);
+        } else {
+            validatedResponses.invalidate(key);
+        }
+        return fresh;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> errors(ProblemDetail problemDetail) {
+        return problemDetail == null || problemDetail.getProperties() == null
+                ? List.of()
+                : (List<String>) problemDetail.getProperties().getOrDefault("errors", List.of());
+    }
+
+    private static ProductsPage productsPage(List<Product> products, int size) {
+        return products == null
+                ? new ProductsPage(List.of(), size, false)
+                : new ProductsPage(products, size, products.size() >= size);
+    }
+
+    private static void ifMatch(HttpHeaders headers, String version) {
+        if (version != null && !version.isBlank()) {
+            if (strongETag(version) == null) {
+                throw new IllegalArgumentException("Weak validator cannot be sent as If-Match: " + version);
+            }
+            headers.setIfMatch(version);
         }
     }
+
+    private static String strongETag(String eTag) {
+        return eTag == null || eTag.startsWith("W/") ? null : eTag;
+    }
+
+    private static String productKey(int productId) {
+        return "products/%d".formatted(productId);
+    }
+
+    private record ValidatedResponse<T>(String eTag, long lastModified, T body) {
+    }
 }
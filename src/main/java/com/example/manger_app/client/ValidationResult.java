@@ -0,0 +1,11 @@
+package com.example.manger_app.client;
+
+import java.util.List;
+
+public sealed interface ValidationResult<T> {
+    record Valid<T>(T value) implements ValidationResult<T> {
+    }
+
+    record Invalid<T>(List<String> errors) implements ValidationResult<T> {
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+
+public record VersionedProduct(Product product, String version) {
+}
@@ -0,0 +1,59 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+
+import java.util.Optional;
+
+public class WriteBehindProductsRestClient extends DelegatingProductsRestClient {
+    private final ProductUpdateQueue queue;
+
+    public WriteBehindProductsRestClient(ProductsRestClient delegate, ProductUpdateQueue queue) {
+        super(delegate);
+        this.queue = queue;
+    }
+
+    @Override
+    public Optional<Product> findProduct(int productId) {
+        return delegate.findProduct(productId).map(queue::pending);
+    }
+
+    @Override
+    public Optional<VersionedProduct> findVersionedProduct(int productId) {
+        return delegate.findVersionedProduct(productId)
+                .map(product -> new VersionedProduct(queue.pending(product.product()), product.version()));
+    }
+
+    @Override
+    public void updateProduct(int productId, String title, String details) {
+        queue.flush(productId);
+        delegate.updateProduct(productId, title, details);
+    }
+
+    @Override
+    public void updateProduct(int productId, String title, String details, String version) {
+        queue.flush(productId);
+        delegate.updateProduct(productId, title, details, version);
+    }
+
+    @Override
+    public ValidationResult<Void> tryUpdateProduct(int productId, String title, String details, String version) {
+        return queue.update(delegate, productId, title, details, version);
+    }
+
+    @Override
+    public Optional<RejectedUpdate> takeRejectedUpdate(int productId) {
+        return queue.takeRejectedUpdate(productId);
+    }
+
+    @Override
+    public void deleteProduct(int productId) {
+        queue.flush(productId);
+        delegate.deleteProduct(productId);
+    }
+
+    @Override
+    public void deleteProduct(int productId, String version) {
+        queue.flush(productId);
+        delegate.deleteProduct(productId, version);
+    }
+}
@@ -1,29 +1,482 @@
 package com.example.manger_app.config;
 
+import com.example.manger_app.client.AsyncProductsRestClient;
+import com.example.manger_app.client.BatchProductsRestClient;
+import com.example.manger_app.client.CachingProductsRestClient;
+import com.example.manger_app.client.CatalogueClientRequestObservationConvention;
+import com.example.manger_app.client.CatalogueOperation;
+import com.example.manger_app.client.CoalescingProductsRestClient;
+import com.example.manger_app.client.HedgingProductsRestClient;
+import com.example.manger_app.client.HttpClientAsyncProductsRestClient;
+import com.example.manger_app.client.ObservedProductsRestClient;
+import com.example.manger_app.client.ProductUpdateQueue;
+import com.example.manger_app.client.ProductsReplica;
+import com.example.manger_app.client.ProductsRestClient;
+import com.example.manger_app.client.PublishingProductsRestClient;
+import com.example.manger_app.client.ReplicatedProductsRestClient;
+import com.example.manger_app.client.ResilientProductsRestClient;
 import com.example.manger_app.client.RestClientProductsRestClient;
+import com.example.manger_app.client.WriteBehindProductsRestClient;
 import com.example.manger_app.security.OAuthClientHttpRequestInterceptor;
+import com.example.manger_app.timing.ServerTimingClientHttpRequestInterceptor;
+import com.example.manger_app.timing.ServerTimingJackson2HttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.support.BasicAuthenticationInterceptor;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.concurrent.DelegatingSecurityContextScheduledExecutorService;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.client.AuthorizedClientServiceOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.security.oauth2.client.web.DefaultOAuth2AuthorizedClientManager;
 import org.springframework.security.oauth2.client.web.OAuth2AuthorizedClientRepository;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+
 @Configuration
 public class ClientBeans  {
     @Bean
-    public RestClientProductsRestClient productsRestClient(
+    public ProductsRestClient productsRestClient(
+            @Value("${services.catalogue.uri:http://localhost:8081}") String catalogueBaseUri,
+            ClientHttpRequestFactory catalogueRequestFactory,
+            OAuthClientHttpRequestInterceptor catalogueAuthorizationInterceptor,
+            ObjectMapper objectMapper,
+            @Value("${services.catalogue.validated-responses.maximum-weight:100000}") long validatedResponsesMaximumWeight,
+            @Value("${services.catalogue.coalescing.enabled:false}") boolean coalescingEnabled,
+            @Value("${services.catalogue.coalescing.scope:AUTHORITIES}") CoalescingProductsRestClient.Scope coalescingScope,
+            @Value("${services.catalogue.cache.enabled:false}") boolean cacheEnabled,
+            @Value("${services.catalogue.cache.maximum-size:10000}") long cacheMaximumSize,
+            @Value("${services.catalogue.cache.time-to-live:1m}") Duration cacheTimeToLive,
+            @Value("${services.catalogue.cache.not-found-time-to-live:10s}") Duration cacheNotFoundTimeToLive,
+            @Value("${services.catalogue.resilience.enabled:false}") boolean resilienceEnabled,
+            @Value("${services.catalogue.resilience.last-known-good.maximum-weight:100000}") long lastKnownGoodMaximumWeight,
+            @Value("${services.catalogue.resilience.last-known-good.scope:AUTHORITIES}") CoalescingProductsRestClient.Scope lastKnownGoodScope,
+            ObjectProvider<CircuitBreakerRegistry> catalogueCircuitBreakers,
+            ObjectProvider<BulkheadRegistry> catalogueBulkheads,
+            @Value("${services.catalogue.hedging.enabled:false}") boolean hedgingEnabled,
+            @Value("${services.catalogue.hedging.delay:200ms}") Duration hedgingDelay,
+            @Value("${services.catalogue.hedging.budget-percent:10}") double hedgingBudgetPercent,
+            @Value("${services.catalogue.hedging.maximum-burst:10}") int hedgingMaximumBurst,
+            ExecutorService catalogueHedgingExecutor,
+            ScheduledExecutorService catalogueHedgingScheduler,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ObjectProvider<ObservationRegistry> observationRegistry,
+            ObjectProvider<ProductsReplica> productsReplica,
+            ObjectProvider<ProductUpdateQueue> productUpdateQueue,
+            ApplicationEventPublisher eventPublisher) {
+        ProductsRestClient productsRestClient = new RestClientProductsRestClient(RestClient.builder()
+                .baseUrl(catalogueBaseUri)
+                .requestFactory(catalogueRequestFactory)
+                .requestInterceptor(catalogueAuthorizationInterceptor)
+                .requestInterceptor(new ServerTimingClientHttpRequestInterceptor())
+                .messageConverters(converters -> converters.replaceAll(converter ->
+                        converter instanceof MappingJackson2HttpMessageConverter
+                                ? new ServerTimingJackson2HttpMessageConverter(objectMapper)
+                                : converter))
+                .observationRegistry(observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP))
+                .observationConvention(new CatalogueClientRequestObservationConvention())
+                .build(), objectMapper, validatedResponsesMaximumWeight);
+
+        if (hedgingEnabled) {
+            var hedgingProductsRestClient = new HedgingProductsRestClient(productsRestClient,
+                    catalogueHedgingExecutor, catalogueHedgingScheduler, hedgingDelay, hedgingBudgetPercent,
+                    hedgingMaximumBurst);
+            hedgingProductsRestClient.setTaskDecorator(catalogueAuthorizationInterceptor);
+            meterRegistry.ifAvailable(registry -> {
+                FunctionCounter.builder("catalogue.hedging.calls", hedgingProductsRestClient,
+                                HedgingProductsRestClient::getHedgedCalls)
+                        .tag("result", "hedged")
+                        .register(registry);
+                FunctionCounter.builder("catalogue.hedging.calls", hedgingProductsRestClient,
+                                HedgingProductsRestClient::getHedgeWins)
+                        .tag("result", "won")
+                        .register(registry);
+            });
+            productsRestClient = hedgingProductsRestClient;
+        }
+
+        if (coalescingEnabled) {
+            var coalescingProductsRestClient = new CoalescingProductsRestClient(productsRestClient, coalescingScope);
+            meterRegistry.ifAvailable(registry -> {
+                FunctionCounter.builder("catalogue.coalescing.calls", coalescingProductsRestClient,
+                                CoalescingProductsRestClient::getUpstreamCalls)
+                        .tag("result", "upstream")
+                        .register(registry);
+                FunctionCounter.builder("catalogue.coalescing.calls", coalescingProductsRestClient,
+                                CoalescingProductsRestClient::getCoalescedCalls)
+                        .tag("result", "coalesced")
+                        .register(registry);
+            });
+            productsRestClient = coalescingProductsRestClient;
+        }
+
+        if (resilienceEnabled) {
+            CircuitBreakerRegistry circuitBreakers = catalogueCircuitBreakers.getObject();
+            BulkheadRegistry bulkheads = catalogueBulkheads.getObject();
+            meterRegistry.ifAvailable(registry -> {
+                TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(registry);
+                TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(registry);
+            });
+            productsRestClient = new ResilientProductsRestClient(productsRestClient, circuitBreakers, bulkheads,
+                    lastKnownGoodMaximumWeight, lastKnownGoodScope);
+        }
+
+        if (cacheEnabled) {
+            var cachingProductsRestClient = new CachingProductsRestClient(productsRestClient,
+                    cacheMaximumSize, cacheTimeToLive, cacheNotFoundTimeToLive);
+            meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry,
+                    cachingProductsRestClient.getCache(), "catalogue.products"));
+            productsRestClient = cachingProductsRestClient;
+        }
+
+        ProductsReplica replica = productsReplica.getIfAvailable();
+        if (replica != null) {
+            var replicatedProductsRestClient = new ReplicatedProductsRestClient(productsRestClient, replica);
+            meterRegistry.ifAvailable(registry -> {
+                FunctionCounter.builder("catalogue.replica.calls", replicatedProductsRestClient,
+                                ReplicatedProductsRestClient::getReplicaCalls)
+                        .tag("result", "replica")
+                        .register(registry);
+                FunctionCounter.builder("catalogue.replica.calls", replicatedProductsRestClient,
+                                ReplicatedProductsRestClient::getUpstreamCalls)
+                        .tag("result", "upstream")
+                        .register(registry);
+            });
+            productsRestClient = replicatedProductsRestClient;
+        }
+
+        productsRestClient = new PublishingProductsRestClient(productsRestClient, eventPublisher);
+
+        ProductUpdateQueue queue = productUpdateQueue.getIfAvailable();
+        if (queue != null) {
+            productsRestClient = new WriteBehindProductsRestClient(productsRestClient, queue);
+        }
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            productsRestClient = new ObservedProductsRestClient(productsRestClient, registry);
+        }
+
+        return productsRestClient;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "services.catalogue.replica.enabled", havingValue = "true")
+    public ProductsReplica productsReplica(
             @Value("${services.catalogue.uri:http://localhost:8081}") String catalogueBaseUri,
+            ClientHttpRequestFactory catalogueRequestFactory,
             ClientRegistrationRepository clientRegistrationRepository,
-            OAuth2AuthorizedClientRepository oAuth2AuthorizedClientRepository,
-            @Value("${services.catalogue.registration-id:keycloak}") String registrationId) {
-        return new RestClientProductsRestClient(RestClient.builder()
+            OAuth2AuthorizedClientService authorizedClientService,
+            ObjectMapper objectMapper,
+            @Value("${services.catalogue.replica.registration-id:catalogue-replica}") String registrationId,
+            @Value("${services.catalogue.replica.full-sync-interval:5m}") Duration fullSyncInterval,
+            @Value("${services.catalogue.replica.max-staleness:15m}") Duration maxStaleness,
+            @Value("${services.catalogue.validated-responses.maximum-weight:100000}") long validatedResponsesMaximumWeight,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        var interceptor = new OAuthClientHttpRequestInterceptor(
+                new AuthorizedClientServiceOAuth2AuthorizedClientManager(clientRegistrationRepository,
+                        authorizedClientService), registrationId);
+        meterRegistry.ifAvailable(interceptor::setMeterRegistry);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("catalogue-replica-", 0)
+                .daemon(true)
+                .factory());
+        var replica = new ProductsReplica(new RestClientProductsRestClient(RestClient.builder()
                 .baseUrl(catalogueBaseUri)
-                .requestInterceptor(new OAuthClientHttpRequestInterceptor(
-                        new DefaultOAuth2AuthorizedClientManager(clientRegistrationRepository,
-                                oAuth2AuthorizedClientRepository), registrationId))
+                .requestFactory(catalogueRequestFactory)
+                .requestInterceptor(interceptor)
+                .build(), objectMapper, validatedResponsesMaximumWeight),
+                new DelegatingSecurityContextScheduledExecutorService(scheduler, new SecurityContextImpl(
+                        UsernamePasswordAuthenticationToken.authenticated(registrationId, null,
+                                AuthorityUtils.NO_AUTHORITIES))),
+                fullSyncInterval, maxStaleness);
+        meterRegistry.ifAvailable(registry -> {
+            FunctionCounter.builder("catalogue.replica.syncs", replica, ProductsReplica::getFullSyncs)
+                    .tag("result", "success")
+                    .register(registry);
+            FunctionCounter.builder("catalogue.replica.syncs", replica, ProductsReplica::getFailedSyncs)
+                    .tag("result", "failure")
+                    .register(registry);
+            Gauge.builder("catalogue.replica.size", replica, ProductsReplica::getSize)
+                    .register(registry);
+            Gauge.builder("catalogue.replica.age", replica, ProductsReplica::getAgeSeconds)
+                    .baseUnit("seconds")
+                    .register(registry);
+        });
+        return replica;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "services.catalogue.write-behind.enabled", havingValue = "true")
+    public ProductUpdateQueue productUpdateQueue(
+            @Value("${services.catalogue.write-behind.window:5s}") Duration window,
+            @Value("${services.catalogue.write-behind.rejected-updates.maximum-size:10000}") long rejectedUpdatesMaximumSize,
+            @Value("${services.catalogue.write-behind.rejected-updates.time-to-live:1h}") Duration rejectedUpdatesTimeToLive,
+            @Value("${services.catalogue.token-cache.refresh-before-expiry:30s}") Duration tokenRefreshBeforeExpiry,
+            @Value("${services.catalogue.write-behind.title-length.min:3}") int titleMinLength,
+            @Value("${services.catalogue.write-behind.title-length.max:50}") int titleMaxLength,
+            @Value("${services.catalogue.write-behind.details-length.max:1000}") int detailsMaxLength,
+            OAuthClientHttpRequestInterceptor catalogueAuthorizationInterceptor,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        if (window.compareTo(tokenRefreshBeforeExpiry) >= 0) {
+            throw new IllegalArgumentException(
+                    "services.catalogue.write-behind.window must be shorter than token-cache.refresh-before-expiry");
+        }
+        var queue = new ProductUpdateQueue(Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("catalogue-write-behind-", 0)
+                .daemon(true)
+                .factory()), window, rejectedUpdatesMaximumSize, rejectedUpdatesTimeToLive);
+        queue.setTaskDecorator(catalogueAuthorizationInterceptor);
+        queue.setTitleMinLength(titleMinLength);
+        queue.setTitleMaxLength(titleMaxLength);
+        queue.setDetailsMaxLength(detailsMaxLength);
+        meterRegistry.ifAvailable(registry -> {
+            FunctionCounter.builder("catalogue.write.behind.updates", queue, ProductUpdateQueue::getUpstreamUpdates)
+                    .tag("result", "upstream")
+                    .register(registry);
+            FunctionCounter.builder("catalogue.write.behind.updates", queue, ProductUpdateQueue::getQueuedUpdates)
+                    .tag("result", "queued")
+                    .register(registry);
+            FunctionCounter.builder("catalogue.write.behind.updates", queue, ProductUpdateQueue::getCoalescedUpdates)
+                    .tag("result", "coalesced")
+                    .register(registry);
+            FunctionCounter.builder("catalogue.write.behind.updates", queue, ProductUpdateQueue::getFailedUpdates)
+                    .tag("result", "rejected")
+                    .register(registry);
+            Gauge.builder("catalogue.write.behind.pending", queue, ProductUpdateQueue::getPendingUpdates)
+                    .register(registry);
+        });
+        return queue;
+    }
+
+    @Bean
+    public CircuitBreakerRegistry catalogueCircuitBreakers(
+            @Value("${services.catalogue.resilience.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${services.catalogue.resilience.slow-call-duration-threshold:2s}") Duration slowCallDurationThreshold,
+            @Value("${services.catalogue.resilience.slow-call-rate-threshold:100}") float slowCallRateThreshold,
+            @Value("${services.catalogue.resilience.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${services.catalogue.resilience.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+            @Value("${services.catalogue.resilience.wait-duration-in-open-state:10s}") Duration waitDurationInOpenState) {
+        return CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDurationThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitDurationInOpenState)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordExceptions(ResourceAccessException.class, HttpServerErrorException.class)
+                .build());
+    }
+
+    @Bean
+    public BulkheadRegistry catalogueBulkheads(
+            @Value("${services.catalogue.resilience.max-concurrent-calls:50}") int maxConcurrentCalls,
+            @Value("${services.catalogue.resilience.max-wait-duration:0s}") Duration maxWaitDuration) {
+        return BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWaitDuration)
+                .build());
+    }
+
+    @Bean
+    public AsyncProductsRestClient asyncProductsRestClient(
+            @Value("${services.catalogue.uri:http://localhost:8081}") String catalogueBaseUri,
+            @Value("${services.catalogue.http.version:HTTP_1_1}") HttpClient.Version version,
+            @Value("${services.catalogue.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${services.catalogue.http.read-timeout:10s}") Duration readTimeout,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled,
+            ObjectMapper objectMapper,
+            OAuthClientHttpRequestInterceptor catalogueAuthorizationInterceptor) {
+        HttpClient.Builder httpClient = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(connectTimeout);
+        Executor executor = ForkJoinPool.commonPool();
+        if (virtualThreadsEnabled) {
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+            httpClient.executor(executor);
+        }
+        return new HttpClientAsyncProductsRestClient(httpClient.build(), catalogueBaseUri, objectMapper,
+                catalogueAuthorizationInterceptor, executor, readTimeout);
+    }
+
+    @Bean
+    public BatchProductsRestClient batchProductsRestClient(
+            ProductsRestClient productsRestClient,
+            ExecutorService catalogueBatchExecutor,
+            OAuthClientHttpRequestInterceptor catalogueAuthorizationInterceptor,
+            @Value("${services.catalogue.batch.parallelism:16}") int parallelism) {
+        var batchProductsRestClient = new BatchProductsRestClient(productsRestClient, catalogueBatchExecutor,
+                parallelism);
+        batchProductsRestClient.setTaskDecorator(catalogueAuthorizationInterceptor);
+        return batchProductsRestClient;
+    }
+
+    @Bean
+    public ExecutorService catalogueBatchExecutor(
+            @Value("${services.catalogue.batch.parallelism:16}") int parallelism,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        if (virtualThreadsEnabled) {
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+        return Executors.newFixedThreadPool(parallelism, Thread.ofPlatform()
+                .name("catalogue-batch-", 0)
+                .daemon(true)
+                .factory());
+    }
+
+    @Bean
+    public ExecutorService catalogueHedgingExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        if (virtualThreadsEnabled) {
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+        return Executors.newCachedThreadPool(Thread.ofPlatform()
+                .name("catalogue-hedging-", 0)
+                .daemon(true)
+                .factory());
+    }
+
+    @Bean
+    public ScheduledExecutorService catalogueHedgingScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("catalogue-hedging-scheduler")
+                .daemon(true)
+                .factory());
+    }
+
+    @Bean
+    public OAuthClientHttpRequestInterceptor catalogueAuthorizationInterceptor(
+            ClientRegistrationRepository clientRegistrationRepository,
+            OAuth2AuthorizedClientRepository oAuth2AuthorizedClientRepository,
+            @Value("${services.catalogue.registration-id:keycloak}") String registrationId,
+            @Value("${services.catalogue.token-cache.refresh-before-expiry:30s}") Duration tokenRefreshBeforeExpiry,
+            @Value("${services.catalogue.token-cache.maximum-size:10000}") long tokenCacheMaximumSize,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        var interceptor = new OAuthClientHttpRequestInterceptor(
+                new DefaultOAuth2AuthorizedClientManager(clientRegistrationRepository,
+                        oAuth2AuthorizedClientRepository), registrationId,
+                tokenRefreshBeforeExpiry, tokenCacheMaximumSize);
+        meterRegistry.ifAvailable(interceptor::setMeterRegistry);
+        return interceptor;
+    }
+
+    @Bean
+    public ClientHttpRequestFactory catalogueRequestFactory(
+            @Value("${services.catalogue.http.version:HTTP_1_1}") HttpClient.Version version,
+            @Value("${services.catalogue.http.max-connections:100}") int maxConnections,
+            @Value("${services.catalogue.http.max-connections-per-route:100}") int maxConnectionsPerRoute,
+            @Value("${services.catalogue.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${services.catalogue.http.read-timeout:10s}") Duration readTimeout,
+            @Value("${services.catalogue.http.pool-acquire-timeout:1s}") Duration poolAcquireTimeout,
+            @Value("${services.catalogue.http.keep-alive:30s}") Duration keepAlive,
+            @Value("${services.catalogue.http.idle-timeout:1m}") Duration idleTimeout,
+            @Value("${services.catalogue.timeouts.find-all-products:${services.catalogue.http.read-timeout:10s}}") Duration findAllProductsTimeout,
+            @Value("${services.catalogue.timeouts.find-product:${services.catalogue.http.read-timeout:10s}}") Duration findProductTimeout,
+            @Value("${services.catalogue.timeouts.create-product:${services.catalogue.http.read-timeout:10s}}") Duration createProductTimeout,
+            @Value("${services.catalogue.timeouts.update-product:${services.catalogue.http.read-timeout:10s}}") Duration updateProductTimeout,
+            @Value("${services.catalogue.timeouts.delete-product:${services.catalogue.http.read-timeout:10s}}") Duration deleteProductTimeout,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<CatalogueOperation, Duration> timeouts = new EnumMap<>(Map.of(
+                CatalogueOperation.FIND_ALL_PRODUCTS, findAllProductsTimeout,
+                CatalogueOperation.FIND_PRODUCT, findProductTimeout,
+                CatalogueOperation.CREATE_PRODUCT, createProductTimeout,
+                CatalogueOperation.UPDATE_PRODUCT, updateProductTimeout,
+                CatalogueOperation.DELETE_PRODUCT, deleteProductTimeout));
+
+        if (version == HttpClient.Version.HTTP_2) {
+            HttpClient.Builder httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(connectTimeout);
+            if (virtualThreadsEnabled) {
+                httpClient.executor(Executors.newVirtualThreadPerTaskExecutor());
+            }
+            HttpClient client = httpClient.build();
+            Map<CatalogueOperation, ClientHttpRequestFactory> requestFactories = new EnumMap<>(CatalogueOperation.class);
+            timeouts.forEach((operation, timeout) -> {
+                var requestFactory = new JdkClientHttpRequestFactory(client);
+                requestFactory.setReadTimeout(timeout);
+                requestFactories.put(operation, requestFactory);
+            });
+            return (uri, method) -> requestFactories.get(CatalogueOperation.of(method, uri)).createRequest(uri, method);
+        }
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        meterRegistry.ifAvailable(registry ->
+                new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "catalogue")
+                        .bindTo(registry));
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(poolAcquireTimeout))
+                .setResponseTimeout(Timeout.of(readTimeout))
+                .setConnectionKeepAlive(TimeValue.of(keepAlive))
+                .build();
+        Map<CatalogueOperation, RequestConfig> requestConfigs = new EnumMap<>(CatalogueOperation.class);
+        timeouts.forEach((operation, timeout) -> requestConfigs.put(operation, RequestConfig.copy(requestConfig)
+                .setResponseTimeout(Timeout.of(timeout))
+                .build()));
+
+        var requestFactory = new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
                 .build());
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(requestConfigs.get(CatalogueOperation.of(method, uri)));
+            return context;
+        });
+        return requestFactory;
     }
 }
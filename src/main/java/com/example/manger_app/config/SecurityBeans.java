@@ -1,18 +1,50 @@
 package com.example.manger_app.config;
 
+import com.example.manger_app.security.EncryptedCookieStorage;
+import com.example.manger_app.security.InMemorySecurityStateStore;
+import com.example.manger_app.security.SecurityStateCodec;
+import com.example.manger_app.security.SecurityStateRepository;
+import com.example.manger_app.security.SecurityStateStore;
+import com.example.manger_app.security.SharedStoreStorage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.Customizer;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
 import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
 import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.savedrequest.CookieRequestCache;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -20,13 +52,99 @@ import java.util.stream.Stream;
 @Configuration
 public class SecurityBeans {
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        return http
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SecurityFilterChain scrapeSecurityFilterChain(
+            HttpSecurity http,
+            @Value("${management.prometheus.scrape.username:prometheus}") String username,
+            @Value("${management.prometheus.scrape.password:}") String password) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class))
+                .authorizeHttpRequests(authorizeRequests -> authorizeRequests
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .anyRequest().hasRole("METRICS"))
+                .sessionManagement(sessionManagement ->
+                        sessionManagement.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+
+        if (!password.isBlank()) {
+            DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider(
+                    PasswordEncoderFactories.createDelegatingPasswordEncoder());
+            authenticationProvider.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername(username)
+                    .password(password)
+                    .roles("METRICS")
+                    .build()));
+            http
+                    .authenticationManager(new ProviderManager(authenticationProvider))
+                    .httpBasic(Customizer.withDefaults());
+        }
+        return http.build();
+    }
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   ObjectProvider<SecurityStateRepository> securityStateRepository)
+            throws Exception {
+        http
                 .authorizeHttpRequests(authorizeRequests -> authorizeRequests.
                         anyRequest().hasRole("MANAGER"))
                 .oauth2Login(Customizer.withDefaults())
-                .oauth2Client(Customizer.withDefaults())
-                .build();
+                .oauth2Client(Customizer.withDefaults());
+
+        SecurityStateRepository repository = securityStateRepository.getIfAvailable();
+        if (repository != null) {
+            http
+                    .securityContext(securityContext -> securityContext.securityContextRepository(repository))
+                    .sessionManagement(sessionManagement ->
+                            sessionManagement.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                    .requestCache(requestCache -> requestCache.requestCache(new CookieRequestCache()))
+                    .csrf(csrf -> csrf.csrfTokenRepository(new CookieCsrfTokenRepository()))
+                    .logout(logout -> logout.addLogoutHandler((request, response, authentication) ->
+                            repository.saveContext(SecurityContextHolder.createEmptyContext(), request, response)))
+                    .oauth2Login(oauth2Login -> oauth2Login
+                            .authorizationEndpoint(authorizationEndpoint ->
+                                    authorizationEndpoint.authorizationRequestRepository(repository))
+                            .authorizedClientRepository(repository))
+                    .oauth2Client(oauth2Client -> oauth2Client
+                            .authorizationCodeGrant(authorizationCodeGrant ->
+                                    authorizationCodeGrant.authorizationRequestRepository(repository))
+                            .authorizedClientRepository(repository));
+        }
+        return http.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "security.session.mode", havingValue = "COOKIE")
+    public SecurityStateRepository cookieSecurityStateRepository(
+            ClientRegistrationRepository clientRegistrationRepository,
+            ObjectMapper objectMapper,
+            @Value("${security.session.cookie.key}") String key,
+            @Value("${security.session.max-age:8h}") Duration maxAge) {
+        return new SecurityStateRepository(
+                new EncryptedCookieStorage(new SecretKeySpec(Base64.getDecoder().decode(key), "AES")),
+                new SecurityStateCodec(clientRegistrationRepository, objectMapper), maxAge);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "security.session.mode", havingValue = "SHARED")
+    @ConditionalOnMissingBean
+    public SecurityStateStore securityStateStore(
+            @Value("${security.session.shared.maximum-size:100000}") long maximumSize,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        InMemorySecurityStateStore store = new InMemorySecurityStateStore(maximumSize);
+        meterRegistry.ifAvailable(registry -> Gauge.builder("security.session.shared.size",
+                        store.getCache(), Cache::estimatedSize)
+                .register(registry));
+        return store;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "security.session.mode", havingValue = "SHARED")
+    public SecurityStateRepository sharedSecurityStateRepository(
+            ClientRegistrationRepository clientRegistrationRepository,
+            ObjectMapper objectMapper,
+            SecurityStateStore securityStateStore,
+            @Value("${security.session.max-age:8h}") Duration maxAge) {
+        return new SecurityStateRepository(new SharedStoreStorage(securityStateStore),
+                new SecurityStateCodec(clientRegistrationRepository, objectMapper), maxAge);
     }
 
     @Bean
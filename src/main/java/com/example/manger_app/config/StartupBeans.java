@@ -0,0 +1,30 @@
+package com.example.manger_app.config;
+
+import com.example.manger_app.startup.WarmUpRunner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.thymeleaf.ITemplateEngine;
+
+import java.net.URI;
+
+@Configuration
+public class StartupBeans {
+    @Bean
+    @ConditionalOnProperty(name = "warm-up.enabled", havingValue = "true")
+    public WarmUpRunner warmUpRunner(
+            ClientHttpRequestFactory catalogueRequestFactory,
+            @Value("${services.catalogue.uri:http://localhost:8081}") String catalogueBaseUri,
+            @Value("${warm-up.catalogue-path:/actuator/health}") String cataloguePath,
+            @Value("${warm-up.catalogue-connections:4}") int catalogueConnections,
+            ITemplateEngine templateEngine,
+            ResourcePatternResolver resourcePatternResolver,
+            ObjectMapper objectMapper) {
+        return new WarmUpRunner(catalogueRequestFactory, URI.create(catalogueBaseUri + cataloguePath), catalogueConnections, templateEngine,
+                resourcePatternResolver, objectMapper);
+    }
+}
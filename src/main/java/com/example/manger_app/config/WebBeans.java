@@ -0,0 +1,87 @@
+package com.example.manger_app.config;
+
+import com.example.manger_app.client.ProductsRestClient;
+import com.example.manger_app.controller.ProductFragmentCache;
+import com.example.manger_app.controller.ProductSuggestions;
+import com.example.manger_app.controller.ViewRenderingMetricsInterceptor;
+import com.example.manger_app.security.OAuthClientHttpRequestInterceptor;
+import com.example.manger_app.timing.ServerTimingFilter;
+import com.example.manger_app.timing.ServerTimingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.thymeleaf.ITemplateEngine;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class WebBeans {
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        var registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.addUrlPatterns("/catalogue/*");
+        return registration;
+    }
+
+    @Bean
+    public WebMvcConfigurer serverTimingConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new ServerTimingInterceptor())
+                        .addPathPatterns("/catalogue/**");
+            }
+        };
+    }
+
+    @Bean
+    public WebMvcConfigurer viewRenderingMetricsConfigurer(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                meterRegistry.ifAvailable(meters -> registry
+                        .addInterceptor(new ViewRenderingMetricsInterceptor(meters, "catalogue/products/"))
+                        .addPathPatterns("/catalogue/products/**"));
+            }
+        };
+    }
+
+    @Bean
+    public ProductFragmentCache productFragmentCache(
+            ITemplateEngine templateEngine,
+            @Value("${catalogue.fragment-cache.maximum-weight:10000000}") long maximumWeight,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        var productFragmentCache = new ProductFragmentCache(templateEngine, maximumWeight);
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry,
+                productFragmentCache.getCache(), "catalogue.fragments"));
+        return productFragmentCache;
+    }
+
+    @Bean
+    public ProductSuggestions productSuggestions(
+            ProductsRestClient productsRestClient,
+            ExecutorService catalogueSuggestionsExecutor,
+            OAuthClientHttpRequestInterceptor catalogueAuthorizationInterceptor,
+            @Value("${catalogue.suggestions.reload-interval:5m}") Duration reloadInterval) {
+        var productSuggestions = new ProductSuggestions(productsRestClient, catalogueSuggestionsExecutor,
+                reloadInterval);
+        productSuggestions.setTaskDecorator(catalogueAuthorizationInterceptor);
+        return productSuggestions;
+    }
+
+    @Bean
+    public ExecutorService catalogueSuggestionsExecutor() {
+        return Executors.newSingleThreadExecutor(Thread.ofPlatform()
+                .name("catalogue-suggestions-", 0)
+                .daemon(true)
+                .factory());
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.manger_app.controller;
+
+import com.example.manger_app.client.CatalogueUnavailableException;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.Locale;
+
+@ControllerAdvice
+@RequiredArgsConstructor
+public class CatalogueControllerAdvice {
+    private final MessageSource messageSource;
+
+    @ExceptionHandler(CatalogueUnavailableException.class)
+    public String handleCatalogueUnavailableException(CatalogueUnavailableException exception, Model model,
+                                                      HttpServletResponse response, Locale locale) {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "10");
+        model.addAttribute("error",
+                messageSource.getMessage(exception.getMessage(), new Object[0],
+                        exception.getMessage(), locale));
+        return "errors/503";
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.manger_app.controller;
+
+import com.example.manger_app.client.ResilientProductsRestClient;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.util.WebUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+
+final class ConditionalPages {
+    private static final String CSRF_COOKIE = "XSRF-TOKEN";
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalPages() {
+    }
+
+    static boolean checkNotModified(NativeWebRequest webRequest, Object... state) {
+        var eTag = new StringBuilder();
+        for (Object part : state) {
+            eTag.append(part).append('\u0000');
+        }
+        eTag.append(webRequest.getAttribute(ResilientProductsRestClient.STALE_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST)).append('\u0000');
+        eTag.append(LocaleContextHolder.getLocale()).append('\u0000');
+
+        Principal principal = webRequest.getUserPrincipal();
+        eTag.append(principal == null ? null : principal.getName()).append('\u0000');
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        HttpSession session = request == null ? null : request.getSession(false);
+        eTag.append(session == null ? null : session.getId()).append('\u0000');
+        Cookie csrfCookie = request == null ? null : WebUtils.getCookie(request, CSRF_COOKIE);
+        eTag.append(csrfCookie == null ? null : csrfCookie.getValue());
+
+        HttpServletResponse response = webRequest.getNativeResponse(HttpServletResponse.class);
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        return webRequest.checkNotModified("W/\"%s\"".formatted(
+                DigestUtils.md5DigestAsHex(eTag.toString().getBytes(StandardCharsets.UTF_8))));
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.manger_app.controller;
 
-import com.example.manger_app.client.BadRequestException;
+import com.example.manger_app.client.ConflictException;
 import com.example.manger_app.client.ProductsRestClient;
+import com.example.manger_app.client.ValidationResult;
+import com.example.manger_app.client.VersionedProduct;
 import com.example.manger_app.controller.payload.UpdateProductPayload;
 import com.example.manger_app.entity.Product;
 import jakarta.servlet.http.HttpServletResponse;
@@ -11,7 +13,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 
+import java.util.List;
 import java.util.Locale;
 import java.util.NoSuchElementException;
 
@@ -22,42 +26,67 @@ public class ProductController {
     private final ProductsRestClient productsRestClient;
     private final MessageSource messageSource;
 
-    @ModelAttribute("product")
-    public Product product(@PathVariable int productId) {
-        return productsRestClient.findProduct(productId).
-                orElseThrow(() -> new NoSuchElementException("catalogue.errors.product.not_found"));
-    }
-
     @GetMapping()
-    public String getProductPage() {
+    public String getProductPage(@PathVariable int productId, Model model, NativeWebRequest webRequest) {
+        addProduct(productId, model);
+        addRejectedUpdate(productId, model, webRequest.getLocale());
+        if (ConditionalPages.checkNotModified(webRequest, "catalogue/products/product", model.asMap())) {
+            return null;
+        }
         return "catalogue/products/product";
     }
 
     @GetMapping("edit")
-    public String getProductEditPage() {
+    public String getProductEditPage(@PathVariable int productId, Model model, Locale locale) {
+        addProduct(productId, model);
+        addRejectedUpdate(productId, model, locale);
         return "catalogue/products/edit";
     }
 
     @PostMapping("edit")
-    public String updateProduct(@ModelAttribute(name = "product", binding = false) Product product,
+    public String updateProduct(@PathVariable int productId,
+                                @RequestParam(required = false) String version,
                                 UpdateProductPayload payload,
                                 Model model,
-                                HttpServletResponse response) {
+                                HttpServletResponse response,
+                                Locale locale) {
         try {
-            productsRestClient.updateProduct(product.id(), payload.title(), payload.details());
-            return "redirect:/catalogue/products/%d".formatted(product.id());
-        } catch (BadRequestException exception) {
-            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            if (productsRestClient.tryUpdateProduct(productId, payload.title(), payload.details(), version)
+                    instanceof ValidationResult.Invalid<Void>(List<String> errors)) {
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+                model.addAttribute("product", product(productId));
+                if (version != null) {
+                    model.addAttribute("version", version);
+                }
+                model.addAttribute("payload", payload);
+                model.addAttribute("errors", errors);
+                return "catalogue/products/edit";
+            }
+            return "redirect:/catalogue/products/%d".formatted(productId);
+        } catch (ConflictException exception) {
+            response.setStatus(HttpStatus.CONFLICT.value());
+            addProduct(productId, model);
             model.addAttribute("payload", payload);
-            model.addAttribute("errors", exception.getErrors());
+            model.addAttribute("errors", List.of(message(exception, locale)));
             return "catalogue/products/edit";
         }
     }
 
     @PostMapping("delete")
-    public String deleteProduct(@ModelAttribute("product") Product product) {
-        productsRestClient.deleteProduct(product.id());
-        return "redirect:/catalogue/products/list";
+    public String deleteProduct(@PathVariable int productId,
+                                @RequestParam(required = false) String version,
+                                Model model,
+                                HttpServletResponse response,
+                                Locale locale) {
+        try {
+            productsRestClient.deleteProduct(productId, version);
+            return "redirect:/catalogue/products/list";
+        } catch (ConflictException exception) {
+            response.setStatus(HttpStatus.CONFLICT.value());
+            addProduct(productId, model);
+            model.addAttribute("errors", List.of(message(exception, locale)));
+            return "catalogue/products/product";
+        }
     }
 
     @ExceptionHandler(NoSuchElementException.class)
@@ -69,4 +98,31 @@ public class ProductController {
                 exception.getMessage(), locale));
         return "errors/404";
     }
+
+    private Product product(int productId) {
+        return productsRestClient.findProduct(productId).
+                orElseThrow(() -> new NoSuchElementException("catalogue.errors.product.not_found"));
+    }
+
+    private void addProduct(int productId, Model model) {
+        VersionedProduct product = productsRestClient.findVersionedProduct(productId)
+                .orElseThrow(() -> new NoSuchElementException("catalogue.errors.product.not_found"));
+        model.addAttribute("product", product.product());
+        if (product.version() != null) {
+            model.addAttribute("version", product.version());
+        }
+    }
+
+    private void addRejectedUpdate(int productId, Model model, Locale locale) {
+        productsRestClient.takeRejectedUpdate(productId).ifPresent(rejectedUpdate -> {
+            model.addAttribute("payload", new UpdateProductPayload(rejectedUpdate.title(), rejectedUpdate.details()));
+            model.addAttribute("errors", rejectedUpdate.errors().stream()
+                    .map(error -> messageSource.getMessage(error, new Object[0], error, locale))
+                    .toList());
+        });
+    }
+
+    private String message(RuntimeException exception, Locale locale) {
+        return messageSource.getMessage(exception.getMessage(), new Object[0], exception.getMessage(), locale);
+    }
 }
@@ -0,0 +1,93 @@
+package com.example.manger_app.controller;
+
+import com.example.manger_app.client.ProductChangedEvent;
+import com.example.manger_app.entity.Product;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.ServletContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+public class ProductFragmentCache {
+    private final ITemplateEngine templateEngine;
+
+    private final Cache<Integer, ProductFragments> fragments;
+
+    private volatile JakartaServletWebApplication webApplication;
+
+    public ProductFragmentCache(ITemplateEngine templateEngine, long maximumWeight) {
+        this.templateEngine = templateEngine;
+        this.fragments = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((Integer productId, ProductFragments productFragments) -> productFragments.weight())
+                .recordStats()
+                .build();
+    }
+
+    public Cache<?, ?> getCache() {
+        return fragments;
+    }
+
+    public String render(String template, String fragment, Product product) {
+        Locale locale = LocaleContextHolder.getLocale();
+        var key = new FragmentKey(template, fragment, locale);
+        ProductFragments rendered = fragments.getIfPresent(product.id());
+        if (rendered != null && rendered.product().equals(product)) {
+            String html = rendered.html().get(key);
+            if (html != null) {
+                return html;
+            }
+        }
+
+        String html = templateEngine.process(template, Set.of(fragment), context(locale, product));
+        fragments.asMap().merge(product.id(), new ProductFragments(product, Map.of(key, html)),
+                (current, added) -> current.product().equals(product) ? current.with(key, html) : added);
+        return html;
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        fragments.invalidate(event.productId());
+    }
+
+    private WebContext context(Locale locale, Product product) {
+        var requestAttributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        return new WebContext(webApplication(requestAttributes.getRequest().getServletContext())
+                .buildExchange(requestAttributes.getRequest(), requestAttributes.getResponse()),
+                locale, Map.of("product", product));
+    }
+
+    private JakartaServletWebApplication webApplication(ServletContext servletContext) {
+        JakartaServletWebApplication application = webApplication;
+        if (application == null) {
+            application = JakartaServletWebApplication.buildApplication(servletContext);
+            webApplication = application;
+        }
+        return application;
+    }
+
+    private record FragmentKey(String template, String fragment, Locale locale) {
+    }
+
+    private record ProductFragments(Product product, Map<FragmentKey, String> html) {
+        ProductFragments with(FragmentKey key, String fragmentHtml) {
+            var updated = new HashMap<>(html);
+            updated.put(key, fragmentHtml);
+            return new ProductFragments(product, Map.copyOf(updated));
+        }
+
+        int weight() {
+            return html.values().stream().mapToInt(String::length).sum();
+        }
+    }
+}
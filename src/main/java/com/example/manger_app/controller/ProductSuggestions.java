@@ -0,0 +1,266 @@
+package com.example.manger_app.controller;
+
+import com.example.manger_app.client.ProductChangedEvent;
+import com.example.manger_app.client.ProductsRestClient;
+import com.example.manger_app.entity.Product;
+import lombok.Setter;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+public class ProductSuggestions {
+    private final ProductsRestClient productsRestClient;
+
+    private final Executor executor;
+
+    private final Duration reloadInterval;
+
+    private final ConcurrentMap<Integer, Change> changes = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final AtomicReference<CompletableFuture<Void>> reload = new AtomicReference<>();
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    @Setter
+    private Clock clock = Clock.systemUTC();
+
+    @Setter
+    private SecurityContextHolderStrategy securityContextHolder =
+            SecurityContextHolder.getContextHolderStrategy();
+
+    @Setter
+    private TaskDecorator taskDecorator = task -> {
+        var runnable = new DelegatingSecurityContextRunnable(task, securityContextHolder.getContext());
+        runnable.setSecurityContextHolderStrategy(securityContextHolder);
+        return runnable;
+    };
+
+    public ProductSuggestions(ProductsRestClient productsRestClient, Executor executor, Duration reloadInterval) {
+        this.productsRestClient = productsRestClient;
+        this.executor = executor;
+        this.reloadInterval = reloadInterval;
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String folded = fold(prefix == null ? "" : prefix.strip());
+        if (folded.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            try {
+                scheduleReload().join();
+            } catch (CompletionException exception) {
+                throw exception.getCause() instanceof RuntimeException cause ? cause : exception;
+            }
+            current = snapshot.get();
+        } else if (clock.instant().isAfter(current.loadedAt().plus(reloadInterval))) {
+            scheduleReload();
+        }
+        return current.index().suggest(folded, limit, changes);
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (snapshot.get() == null && reload.get() == null) {
+            return;
+        }
+
+        try {
+            executor.execute(taskDecorator.decorate(() -> refresh(event.productId())));
+        } catch (RejectedExecutionException exception) {
+            expire();
+        }
+    }
+
+    private void refresh(int productId) {
+        long changedAt = sequence.incrementAndGet();
+        try {
+            changes.put(productId, new Change(productsRestClient.findProduct(productId).orElse(null), changedAt));
+        } catch (RuntimeException exception) {
+            expire();
+        }
+    }
+
+    private void expire() {
+        snapshot.updateAndGet(current -> current == null ? null : new Snapshot(current.index(), Instant.MIN));
+    }
+
+    private CompletableFuture<Void> scheduleReload() {
+        var scheduled = new CompletableFuture<Void>();
+        CompletableFuture<Void> running = reload.compareAndExchange(null, scheduled);
+        if (running != null) {
+            return running;
+        }
+
+        try {
+            executor.execute(taskDecorator.decorate(() -> {
+                try {
+                    reload();
+                    reload.set(null);
+                    scheduled.complete(null);
+                } catch (RuntimeException exception) {
+                    reload.set(null);
+                    scheduled.completeExceptionally(exception);
+                }
+            }));
+        } catch (RejectedExecutionException exception) {
+            reload.set(null);
+            scheduled.completeExceptionally(exception);
+        }
+        return scheduled;
+    }
+
+    private void reload() {
+        Instant startedAt = clock.instant();
+        long changedBefore = sequence.get();
+        try (Stream<Product> products = productsRestClient.streamAllProducts(null)) {
+            snapshot.set(new Snapshot(TitleIndex.of(products.toList()), startedAt));
+        }
+        changes.values().removeIf(change -> change.changedAt() <= changedBefore);
+    }
+
+    static String fold(String text) {
+        return text.toLowerCase(Locale.ROOT).replace('ё', 'е');
+    }
+
+    public record Suggestion(int id, String title) {
+    }
+
+    private static final class TitleIndex {
+        private final String[] keys;
+
+        private final int[] ids;
+
+        private final Map<Integer, String> titles;
+
+        private TitleIndex(String[] keys, int[] ids, Map<Integer, String> titles) {
+            this.keys = keys;
+            this.ids = ids;
+            this.titles = titles;
+        }
+
+        static TitleIndex of(Collection<Product> products) {
+            var titles = new HashMap<Integer, String>(products.size() * 4 / 3 + 1);
+            var entries = new ArrayList<Entry>(products.size() * 2);
+            for (Product product : products) {
+                if (product.title() != null) {
+                    titles.put(product.id(), product.title());
+                    for (String key : keys(product.title())) {
+                        entries.add(new Entry(key, product.id()));
+                    }
+                }
+            }
+            entries.sort(null);
+            String[] keys = new String[entries.size()];
+            int[] ids = new int[entries.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = entries.get(i).key();
+                ids[i] = entries.get(i).id();
+            }
+            return new TitleIndex(keys, ids, titles);
+        }
+
+        List<Suggestion> suggest(String prefix, int limit, Map<Integer, Change> changes) {
+            int position = Arrays.binarySearch(keys, prefix);
+            position = position >= 0 ? position : -position - 1;
+            while (position > 0 && keys[position - 1].equals(prefix)) {
+                position--;
+            }
+
+            var changedIds = new HashSet<Integer>();
+            var changedTitles = new HashMap<Integer, String>();
+            var changed = new ArrayList<Entry>();
+            for (Map.Entry<Integer, Change> change : changes.entrySet()) {
+                changedIds.add(change.getKey());
+                Product product = change.getValue().product();
+                if (product != null && product.title() != null) {
+                    keys(product.title()).stream()
+                            .filter(key -> key.startsWith(prefix))
+                            .min(String::compareTo)
+                            .ifPresent(key -> {
+                                changed.add(new Entry(key, product.id()));
+                                changedTitles.put(product.id(), product.title());
+                            });
+                }
+            }
+            changed.sort(null);
+
+            var suggestions = new LinkedHashMap<Integer, Suggestion>();
+            int next = 0;
+            while (suggestions.size() < limit) {
+                boolean existing = position < keys.length && keys[position].startsWith(prefix);
+                if (existing && changedIds.contains(ids[position])) {
+                    position++;
+                } else if (next < changed.size()
+                        && (!existing || changed.get(next).compareTo(keys[position], ids[position]) < 0)) {
+                    int id = changed.get(next++).id();
+                    suggestions.computeIfAbsent(id, key -> new Suggestion(id, changedTitles.get(id)));
+                } else if (existing) {
+                    int id = ids[position++];
+                    suggestions.computeIfAbsent(id, key -> new Suggestion(id, titles.get(id)));
+                } else {
+                    break;
+                }
+            }
+            return List.copyOf(suggestions.values());
+        }
+
+        private static List<String> keys(String title) {
+            String folded = fold(title.strip());
+            var keys = new ArrayList<String>();
+            for (int i = 0; i < folded.length(); i++) {
+                if (Character.isLetterOrDigit(folded.charAt(i))
+                        && (i == 0 || !Character.isLetterOrDigit(folded.charAt(i - 1)))) {
+                    keys.add(folded.substring(i));
+                }
+            }
+            return keys;
+        }
+    }
+
+    private record Snapshot(TitleIndex index, Instant loadedAt) {
+    }
+
+    private record Change(Product product, long changedAt) {
+    }
+
+    private record Entry(String key, int id) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            return compareTo(other.key, other.id);
+        }
+
+        int compareTo(String otherKey, int otherId) {
+            int comparison = key.compareTo(otherKey);
+            return comparison != 0 ? comparison : Integer.compare(id, otherId);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.manger_app.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("catalogue/products")
+public class ProductSuggestionsRestController {
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private final ProductSuggestions productSuggestions;
+
+    @GetMapping(value = "suggestions", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<ProductSuggestions.Suggestion> getProductSuggestions(
+            @RequestParam(name = "prefix", defaultValue = "") String prefix,
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return productSuggestions.suggest(prefix, Math.min(limit, MAX_SUGGESTIONS));
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.manger_app.controller;
 
-import com.example.manger_app.client.BadRequestException;
+import com.example.manger_app.client.BatchProductsRestClient;
 import com.example.manger_app.client.ProductsRestClient;
+import com.example.manger_app.client.ValidationResult;
 import com.example.manger_app.controller.payload.NewProductPayload;
 import com.example.manger_app.entity.Product;
+import com.example.manger_app.entity.ProductsPage;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -13,17 +15,58 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Controller
 @RequiredArgsConstructor
 @RequestMapping("catalogue/products")
 public class ProductsController {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ProductsRestClient productsRestClient;
 
+    private final BatchProductsRestClient batchProductsRestClient;
+
     @GetMapping("list")
-    public String getProductsList(Model model, @RequestParam(name = "filter", required = false) String filter) {
-        model.addAttribute("products", productsRestClient.findAllProducts(filter));
+    public String getProductsList(Model model,
+                                  @RequestParam(name = "filter", required = false) String filter,
+                                  @RequestParam(name = "page", defaultValue = "0") int page,
+                                  @RequestParam(name = "size", defaultValue = "20") int size,
+                                  @RequestParam(name = "after", required = false) Integer after,
+                                  NativeWebRequest webRequest) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        ProductsPage productsPage;
+        if (after != null) {
+            productsPage = productsRestClient.findProductsAfter(filter, after, pageSize);
+            model.addAttribute("after", after);
+        } else {
+            productsPage = productsRestClient.findProducts(filter, Math.max(page, 0), pageSize);
+            model.addAttribute("page", Math.max(page, 0));
+        }
+        model.addAttribute("products", productsPage.products());
+        model.addAttribute("productsPage", productsPage);
+        model.addAttribute("size", pageSize);
+        model.addAttribute("filter", filter);
+        if (ConditionalPages.checkNotModified(webRequest, "catalogue/products/list", model.asMap())) {
+            return null;
+        }
+        return "catalogue/products/list";
+    }
+
+    @GetMapping(value = "list", params = "stream")
+    public String getProductsStream(Model model, @RequestParam(name = "filter", required = false) String filter) {
+        Stream<Product> products = productsRestClient.streamAllProducts(filter);
+        RequestContextHolder.currentRequestAttributes()
+                .registerDestructionCallback("products", products::close, RequestAttributes.SCOPE_REQUEST);
+        model.addAttribute("products", products.iterator());
         model.addAttribute("filter", filter);
+        model.addAttribute("stream", true);
         return "catalogue/products/list";
     }
 
@@ -36,14 +79,37 @@ public class ProductsController {
     public String createProduct(NewProductPayload payload,
                                 Model model,
                                 HttpServletResponse response) {
-        try {
-            Product product =  productsRestClient.createProduct(payload.title(), payload.details());
-            return "redirect:/catalogue/products/%d".formatted(product.id());
-        }  catch (BadRequestException exception) {
-            response.setStatus(HttpStatus.BAD_REQUEST.value());
-            model.addAttribute("payload", payload);
-            model.addAttribute("errors", exception.getErrors());
-            return "catalogue/products/new_product";
-        }
+        return switch (productsRestClient.tryCreateProduct(payload.title(), payload.details())) {
+            case ValidationResult.Valid<Product>(Product product) ->
+                    "redirect:/catalogue/products/%d".formatted(product.id());
+            case ValidationResult.Invalid<Product>(List<String> errors) -> {
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+                model.addAttribute("payload", payload);
+                model.addAttribute("errors", errors);
+                yield "catalogue/products/new_product";
+            }
+        };
+    }
+
+    @PostMapping("bulk/update")
+    public String updateProducts(@RequestParam(name = "productIds", required = false) List<Integer> productIds,
+                                 @RequestParam Map<String, String> parameters,
+                                 Model model) {
+        model.addAttribute("results", batchProductsRestClient.updateProducts(
+                (productIds == null ? List.<Integer>of() : productIds).stream()
+                        .distinct()
+                        .map(productId -> new BatchProductsRestClient.ProductUpdate(productId,
+                                parameters.get("titles[%d]".formatted(productId)),
+                                parameters.get("details[%d]".formatted(productId))))
+                        .toList()));
+        return "catalogue/products/bulk_result";
+    }
+
+    @PostMapping("bulk/delete")
+    public String deleteProducts(@RequestParam(name = "productIds", required = false) List<Integer> productIds,
+                                 Model model) {
+        model.addAttribute("results", batchProductsRestClient.deleteProducts(
+                productIds == null ? List.of() : productIds.stream().distinct().toList()));
+        return "catalogue/products/bulk_result";
     }
 }
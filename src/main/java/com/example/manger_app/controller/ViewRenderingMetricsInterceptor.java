@@ -0,0 +1,46 @@
+package com.example.manger_app.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+public class ViewRenderingMetricsInterceptor implements HandlerInterceptor {
+    private static final String SAMPLE_ATTRIBUTE = ViewRenderingMetricsInterceptor.class.getName() + ".sample";
+
+    private static final String VIEW_ATTRIBUTE = ViewRenderingMetricsInterceptor.class.getName() + ".view";
+
+    private final MeterRegistry meterRegistry;
+
+    private final String viewPrefix;
+
+    public ViewRenderingMetricsInterceptor(MeterRegistry meterRegistry, String viewPrefix) {
+        this.meterRegistry = meterRegistry;
+        this.viewPrefix = viewPrefix;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView != null && modelAndView.getViewName() != null
+                && modelAndView.getViewName().startsWith(viewPrefix)) {
+            request.setAttribute(VIEW_ATTRIBUTE, modelAndView.getViewName());
+            request.setAttribute(SAMPLE_ATTRIBUTE, Timer.start(meterRegistry));
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception exception) {
+        if (request.getAttribute(SAMPLE_ATTRIBUTE) instanceof Timer.Sample sample) {
+            request.removeAttribute(SAMPLE_ATTRIBUTE);
+            sample.stop(Timer.builder("catalogue.views.render")
+                    .tag("view", (String) request.getAttribute(VIEW_ATTRIBUTE))
+                    .tag("outcome", exception == null ? "SUCCESS" : "ERROR")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.manger_app.entity;
+
+import java.util.List;
+
+public record ProductsPage(List<Product> products, int size, boolean hasNext) {
+    public Integer nextCursor() {
+        return hasNext && !products.isEmpty() ? products.get(products.size() - 1).id() : null;
+    }
+}
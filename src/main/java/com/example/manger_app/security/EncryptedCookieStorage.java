@@ -0,0 +1,112 @@
+package com.example.manger_app.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+public class EncryptedCookieStorage implements SecurityStateStorage {
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+    private static final int IV_LENGTH = 12;
+
+    private static final int TAG_LENGTH = 128;
+
+    private static final int CHUNK_LENGTH = 3800;
+
+    private static final int MAX_CHUNKS = 4;
+
+    private final SecretKey key;
+
+    private final SecureRandom random = new SecureRandom();
+
+    public EncryptedCookieStorage(SecretKey key) {
+        this.key = key;
+    }
+
+    @Override
+    public byte[] load(HttpServletRequest request, String name) {
+        var encrypted = new StringBuilder();
+        for (int chunk = 0; chunk < MAX_CHUNKS; chunk++) {
+            String value = SecurityStateCookies.value(request, chunkName(name, chunk));
+            if (value == null) {
+                break;
+            }
+            encrypted.append(value);
+        }
+        if (encrypted.isEmpty()) {
+            return null;
+        }
+
+        try {
+            ByteBuffer message = ByteBuffer.wrap(Base64.getUrlDecoder().decode(encrypted.toString()));
+            byte[] iv = new byte[IV_LENGTH];
+            message.get(iv);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH, iv));
+            cipher.updateAAD(name.getBytes(StandardCharsets.UTF_8));
+            return cipher.doFinal(message.array(), IV_LENGTH, message.remaining());
+        } catch (GeneralSecurityException | IllegalArgumentException | BufferUnderflowException exception) {
+            return null;
+        }
+    }
+
+    @Override
+    public void save(HttpServletRequest request, HttpServletResponse response, String name, byte[] state,
+                     Duration maxAge, boolean renew) {
+        String encrypted;
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH, iv));
+            cipher.updateAAD(name.getBytes(StandardCharsets.UTF_8));
+            byte[] ciphertext = cipher.doFinal(state);
+            encrypted = Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer
+                    .allocate(IV_LENGTH + ciphertext.length)
+                    .put(iv)
+                    .put(ciphertext)
+                    .array());
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException(exception);
+        }
+
+        int chunks = (encrypted.length() + CHUNK_LENGTH - 1) / CHUNK_LENGTH;
+        if (chunks > MAX_CHUNKS) {
+            throw new IllegalStateException("Security state of %d bytes does not fit into cookies"
+                    .formatted(state.length));
+        }
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            SecurityStateCookies.set(request, response, chunkName(name, chunk), encrypted.substring(
+                    chunk * CHUNK_LENGTH, Math.min((chunk + 1) * CHUNK_LENGTH, encrypted.length())), maxAge);
+        }
+        expireChunks(request, response, name, chunks);
+    }
+
+    @Override
+    public void remove(HttpServletRequest request, HttpServletResponse response, String name) {
+        expireChunks(request, response, name, 0);
+    }
+
+    private static void expireChunks(HttpServletRequest request, HttpServletResponse response, String name,
+                                     int from) {
+        for (int chunk = from; chunk < MAX_CHUNKS; chunk++) {
+            if (SecurityStateCookies.value(request, chunkName(name, chunk)) != null) {
+                SecurityStateCookies.expire(request, response, chunkName(name, chunk));
+            }
+        }
+    }
+
+    private static String chunkName(String name, int chunk) {
+        return chunk == 0 ? name : name + "_" + chunk;
+    }
+}
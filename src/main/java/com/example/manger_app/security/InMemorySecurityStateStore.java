@@ -0,0 +1,58 @@
+package com.example.manger_app.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+
+public class InMemorySecurityStateStore implements SecurityStateStore {
+    private final Cache<String, Entry> entries;
+
+    public InMemorySecurityStateStore(long maximumSize) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.timeToLive().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime,
+                                                  long currentDuration) {
+                        return entry.timeToLive().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public Cache<?, ?> getCache() {
+        return entries;
+    }
+
+    @Override
+    public byte[] get(String key) {
+        Entry entry = entries.getIfPresent(key);
+        return entry == null ? null : entry.state();
+    }
+
+    @Override
+    public void put(String key, byte[] state, Duration timeToLive) {
+        entries.put(key, new Entry(state, timeToLive));
+    }
+
+    @Override
+    public void remove(String key) {
+        entries.invalidate(key);
+    }
+
+    private record Entry(byte[] state, Duration timeToLive) {
+    }
+}
@@ -1,41 +1,213 @@
 package com.example.manger_app.security;
 
-import lombok.RequiredArgsConstructor;
+import com.example.manger_app.timing.ServerTiming;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.Setter;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
 
 import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+public class OAuthClientHttpRequestInterceptor implements ClientHttpRequestInterceptor, TaskDecorator {
+    private static final Duration DEFAULT_REFRESH_BEFORE_EXPIRY = Duration.ofSeconds(30);
+
+    private static final long DEFAULT_MAXIMUM_CACHED_TOKENS = 10_000;
 
-@RequiredArgsConstructor
-public class OAuthClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
     private final OAuth2AuthorizedClientManager authorizedClientManager;
 
     private final String registrationId;
 
+    private final Duration refreshBeforeExpiry;
+
+    private final Cache<String, OAuth2AccessToken> accessTokens;
+
+    private final ConcurrentMap<String, CompletableFuture<OAuth2AccessToken>> accessTokenRefreshes =
+            new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Supplier<OAuth2AccessToken>> boundAccessToken = new ThreadLocal<>();
+
     @Setter
     private SecurityContextHolderStrategy securityContextHolder =
             SecurityContextHolder.getContextHolderStrategy();
 
+    @Setter
+    private Clock clock = Clock.systemUTC();
+
+    @Setter
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    public OAuthClientHttpRequestInterceptor(OAuth2AuthorizedClientManager authorizedClientManager,
+                                             String registrationId) {
+        this(authorizedClientManager, registrationId, DEFAULT_REFRESH_BEFORE_EXPIRY, DEFAULT_MAXIMUM_CACHED_TOKENS);
+    }
+
+    public OAuthClientHttpRequestInterceptor(OAuth2AuthorizedClientManager authorizedClientManager,
+                                             String registrationId, Duration refreshBeforeExpiry,
+                                             long maximumCachedTokens) {
+        this.authorizedClientManager = authorizedClientManager;
+        this.registrationId = registrationId;
+        this.refreshBeforeExpiry = refreshBeforeExpiry;
+        this.accessTokens = Caffeine.newBuilder()
+                .maximumSize(maximumCachedTokens)
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+    }
+
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
             throws IOException {
-        if (!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
-             OAuth2AuthorizedClient authorizedClient = authorizedClientManager.authorize(OAuth2AuthorizeRequest
+        if (request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+            return execution.execute(request, body);
+        }
+
+        Authentication principal = securityContextHolder.getContext().getAuthentication();
+        Supplier<OAuth2AccessToken> accessToken = boundAccessToken.get();
+        request.getHeaders().setBearerAuth((accessToken == null ? accessToken(principal) : accessToken.get())
+                .getTokenValue());
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.UNAUTHORIZED)) {
+            evictAccessToken(principal);
+        }
+        return response;
+    }
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        SecurityContext securityContext = securityContextHolder.getContext();
+        Supplier<OAuth2AccessToken> accessToken;
+        try {
+            OAuth2AccessToken authorizedAccessToken = accessToken(securityContext.getAuthentication());
+            accessToken = () -> authorizedAccessToken;
+        } catch (RuntimeException exception) {
+            accessToken = () -> {
+                throw exception;
+            };
+        }
+        Supplier<OAuth2AccessToken> boundToken = accessToken;
+        return () -> {
+            SecurityContext previousSecurityContext = securityContextHolder.getContext();
+            Supplier<OAuth2AccessToken> previousAccessToken = boundAccessToken.get();
+            securityContextHolder.setContext(securityContext);
+            boundAccessToken.set(boundToken);
+            try {
+                task.run();
+            } finally {
+                if (previousSecurityContext.equals(securityContextHolder.createEmptyContext())) {
+                    securityContextHolder.clearContext();
+                } else {
+                    securityContextHolder.setContext(previousSecurityContext);
+                }
+                if (previousAccessToken == null) {
+                    boundAccessToken.remove();
+                } else {
+                    boundAccessToken.set(previousAccessToken);
+                }
+            }
+        };
+    }
+
+    public void evictAccessToken(Authentication principal) {
+        if (principal != null) {
+            accessTokens.invalidate(principal.getName());
+        }
+    }
+
+    public OAuth2AccessToken accessToken(Authentication principal) {
+        long startedAt = System.nanoTime();
+        try {
+            return cachedOrAuthorizedAccessToken(principal);
+        } finally {
+            ServerTiming.record(ServerTiming.Phase.AUTH, System.nanoTime() - startedAt);
+        }
+    }
+
+    private OAuth2AccessToken cachedOrAuthorizedAccessToken(Authentication principal) {
+        if (principal == null) {
+            return authorize(null);
+        }
+
+        String key = principal.getName();
+        OAuth2AccessToken accessToken = accessTokens.getIfPresent(key);
+        if (accessToken != null && !expiresWithin(accessToken, refreshBeforeExpiry)) {
+            return accessToken;
+        }
+
+        var refresh = new CompletableFuture<OAuth2AccessToken>();
+        CompletableFuture<OAuth2AccessToken> inFlightRefresh = accessTokenRefreshes.putIfAbsent(key, refresh);
+        if (inFlightRefresh != null) {
+            if (accessToken != null && !expiresWithin(accessToken, Duration.ZERO)) {
+                return accessToken;
+            }
+            try {
+                return inFlightRefresh.join();
+            } catch (CompletionException exception) {
+                if (exception.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw exception;
+            }
+        }
+
+        try {
+            OAuth2AccessToken refreshedAccessToken = authorize(principal);
+            accessTokens.put(key, refreshedAccessToken);
+            refresh.complete(refreshedAccessToken);
+            return refreshedAccessToken;
+        } catch (RuntimeException | Error exception) {
+            refresh.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            accessTokenRefreshes.remove(key, refresh);
+        }
+    }
+
+    private OAuth2AccessToken authorize(Authentication principal) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "FAILURE";
+        try {
+            OAuth2AuthorizedClient authorizedClient = authorizedClientManager.authorize(OAuth2AuthorizeRequest
                     .withClientRegistrationId(registrationId)
-                    .principal(securityContextHolder.getContext().getAuthentication())
+                    .principal(principal)
                     .build());
-             request.getHeaders().setBearerAuth(authorizedClient.getAccessToken().getTokenValue());
+            OAuth2AccessToken accessToken = authorizedClient.getAccessToken();
+            outcome = "SUCCESS";
+            return accessToken;
+        } finally {
+            sample.stop(Timer.builder("catalogue.oauth.token.acquisitions")
+                    .tag("registration", registrationId)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
         }
+    }
 
-        return execution.execute(request, body);
+    private boolean expiresWithin(OAuth2AccessToken accessToken, Duration duration) {
+        return accessToken.getExpiresAt() != null
+                && !clock.instant().plus(duration).isBefore(accessToken.getExpiresAt());
     }
 }
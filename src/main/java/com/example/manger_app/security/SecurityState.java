@@ -0,0 +1,11 @@
+package com.example.manger_app.security;
+
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record SecurityState(Instant savedAt, OAuth2AuthenticationToken authentication,
+                            Map<String, OAuth2AuthorizedClient> authorizedClients) {
+}
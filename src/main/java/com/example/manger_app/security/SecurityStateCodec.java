@@ -0,0 +1,242 @@
+package com.example.manger_app.security;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.core.AbstractOAuth2Token;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+public class SecurityStateCodec {
+    private static final int VERSION = 1;
+
+    private static final TypeReference<Map<String, Object>> CLAIMS_TYPE_REFERENCE = new TypeReference<>() {
+    };
+
+    private final ClientRegistrationRepository clientRegistrationRepository;
+
+    private final ObjectMapper objectMapper;
+
+    public SecurityStateCodec(ClientRegistrationRepository clientRegistrationRepository, ObjectMapper objectMapper) {
+        this.clientRegistrationRepository = clientRegistrationRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public byte[] encode(SecurityState state) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            output.writeByte(VERSION);
+            output.writeLong(state.savedAt().getEpochSecond());
+
+            OAuth2AuthenticationToken authentication = state.authentication();
+            output.writeBoolean(authentication != null);
+            if (authentication != null) {
+                if (!(authentication.getPrincipal() instanceof OidcUser user)) {
+                    throw new InvalidObjectException("Unsupported principal " + authentication.getPrincipal());
+                }
+                output.writeUTF(authentication.getAuthorizedClientRegistrationId());
+                writeStrings(output, authentication.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .toList());
+                output.writeUTF(user.getIdToken().getTokenValue());
+            }
+
+            output.writeShort(state.authorizedClients().size());
+            for (OAuth2AuthorizedClient authorizedClient : state.authorizedClients().values()) {
+                output.writeUTF(authorizedClient.getClientRegistration().getRegistrationId());
+                output.writeUTF(authorizedClient.getPrincipalName());
+                OAuth2AccessToken accessToken = authorizedClient.getAccessToken();
+                writeToken(output, accessToken);
+                writeStrings(output, accessToken.getScopes());
+                OAuth2RefreshToken refreshToken = authorizedClient.getRefreshToken();
+                output.writeBoolean(refreshToken != null);
+                if (refreshToken != null) {
+                    writeToken(output, refreshToken);
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    public SecurityState decode(byte[] encoded) throws IOException {
+        try (var input = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(encoded)))) {
+            if (input.readByte() != VERSION) {
+                throw new InvalidObjectException("Unsupported security state version");
+            }
+            Instant savedAt = Instant.ofEpochSecond(input.readLong());
+
+            OAuth2AuthenticationToken authentication = null;
+            if (input.readBoolean()) {
+                String registrationId = input.readUTF();
+                List<GrantedAuthority> authorities = readStrings(input).stream()
+                        .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                        .toList();
+                authentication = new OAuth2AuthenticationToken(
+                        new DefaultOidcUser(authorities, idToken(input.readUTF())), authorities, registrationId);
+            }
+
+            var authorizedClients = new LinkedHashMap<String, OAuth2AuthorizedClient>();
+            for (int i = input.readShort(); i > 0; i--) {
+                String registrationId = input.readUTF();
+                String principalName = input.readUTF();
+                String accessTokenValue = input.readUTF();
+                Instant accessTokenIssuedAt = readInstant(input);
+                Instant accessTokenExpiresAt = readInstant(input);
+                Set<String> scopes = new LinkedHashSet<>(readStrings(input));
+                OAuth2RefreshToken refreshToken = null;
+                if (input.readBoolean()) {
+                    String refreshTokenValue = input.readUTF();
+                    Instant refreshTokenIssuedAt = readInstant(input);
+                    Instant refreshTokenExpiresAt = readInstant(input);
+                    refreshToken = new OAuth2RefreshToken(refreshTokenValue, refreshTokenIssuedAt,
+                            refreshTokenExpiresAt);
+                }
+
+                ClientRegistration clientRegistration =
+                        clientRegistrationRepository.findByRegistrationId(registrationId);
+                if (clientRegistration != null) {
+                    authorizedClients.put(registrationId, new OAuth2AuthorizedClient(clientRegistration,
+                            principalName, new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER,
+                            accessTokenValue, accessTokenIssuedAt, accessTokenExpiresAt, scopes), refreshToken));
+                }
+            }
+            return new SecurityState(savedAt, authentication, authorizedClients);
+        } catch (RuntimeException exception) {
+            throw new InvalidObjectException(exception.getMessage());
+        }
+    }
+
+    public byte[] encode(OAuth2AuthorizationRequest authorizationRequest) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            output.writeByte(VERSION);
+            output.writeUTF(authorizationRequest.getAuthorizationUri());
+            output.writeUTF(authorizationRequest.getClientId());
+            writeNullable(output, authorizationRequest.getRedirectUri());
+            writeStrings(output, authorizationRequest.getScopes());
+            writeNullable(output, authorizationRequest.getState());
+            writeMap(output, authorizationRequest.getAdditionalParameters());
+            writeMap(output, authorizationRequest.getAttributes());
+            output.writeUTF(authorizationRequest.getAuthorizationRequestUri());
+        }
+        return bytes.toByteArray();
+    }
+
+    public OAuth2AuthorizationRequest decodeAuthorizationRequest(byte[] encoded) throws IOException {
+        try (var input = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(encoded)))) {
+            if (input.readByte() != VERSION) {
+                throw new InvalidObjectException("Unsupported authorization request version");
+            }
+            return OAuth2AuthorizationRequest.authorizationCode()
+                    .authorizationUri(input.readUTF())
+                    .clientId(input.readUTF())
+                    .redirectUri(readNullable(input))
+                    .scopes(new LinkedHashSet<>(readStrings(input)))
+                    .state(readNullable(input))
+                    .additionalParameters(readMap(input))
+                    .attributes(readMap(input))
+                    .authorizationRequestUri(input.readUTF())
+                    .build();
+        } catch (RuntimeException exception) {
+            throw new InvalidObjectException(exception.getMessage());
+        }
+    }
+
+    private OidcIdToken idToken(String tokenValue) throws IOException {
+        String[] parts = tokenValue.split("\\.");
+        if (parts.length < 2) {
+            throw new InvalidObjectException("Malformed ID token");
+        }
+        Map<String, Object> claims = objectMapper.readValue(Base64.getUrlDecoder().decode(parts[1]),
+                CLAIMS_TYPE_REFERENCE);
+        return new OidcIdToken(tokenValue, epochSeconds(claims.get("iat")), epochSeconds(claims.get("exp")), claims);
+    }
+
+    private static Instant epochSeconds(Object claim) {
+        return claim instanceof Number seconds ? Instant.ofEpochSecond(seconds.longValue()) : null;
+    }
+
+    private static void writeToken(DataOutputStream output, AbstractOAuth2Token token) throws IOException {
+        output.writeUTF(token.getTokenValue());
+        writeInstant(output, token.getIssuedAt());
+        writeInstant(output, token.getExpiresAt());
+    }
+
+    private static void writeInstant(DataOutputStream output, Instant instant) throws IOException {
+        output.writeLong(instant == null ? Long.MIN_VALUE : instant.getEpochSecond());
+    }
+
+    private static Instant readInstant(DataInputStream input) throws IOException {
+        long epochSecond = input.readLong();
+        return epochSecond == Long.MIN_VALUE ? null : Instant.ofEpochSecond(epochSecond);
+    }
+
+    private static void writeNullable(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private static void writeStrings(DataOutputStream output, Collection<String> values) throws IOException {
+        output.writeShort(values.size());
+        for (String value : values) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream input) throws IOException {
+        var values = new ArrayList<String>();
+        for (int i = input.readShort(); i > 0; i--) {
+            values.add(input.readUTF());
+        }
+        return values;
+    }
+
+    private static void writeMap(DataOutputStream output, Map<String, Object> values) throws IOException {
+        output.writeShort(values.size());
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            output.writeUTF(entry.getKey());
+            output.writeUTF(String.valueOf(entry.getValue()));
+        }
+    }
+
+    private static Map<String, Object> readMap(DataInputStream input) throws IOException {
+        var values = new LinkedHashMap<String, Object>();
+        for (int i = input.readShort(); i > 0; i--) {
+            values.put(input.readUTF(), input.readUTF());
+        }
+        return values;
+    }
+}
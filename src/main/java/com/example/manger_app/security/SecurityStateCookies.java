@@ -0,0 +1,49 @@
+package com.example.manger_app.security;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+
+final class SecurityStateCookies {
+    private static final String WRITTEN_ATTRIBUTE_PREFIX = SecurityStateCookies.class.getName() + ".";
+
+    private SecurityStateCookies() {
+    }
+
+    static String value(HttpServletRequest request, String name) {
+        if (request.getAttribute(WRITTEN_ATTRIBUTE_PREFIX + name) instanceof String written) {
+            return written.isEmpty() ? null : written;
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (cookie.getName().equals(name)) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    static void set(HttpServletRequest request, HttpServletResponse response, String name, String value,
+                    Duration maxAge) {
+        request.setAttribute(WRITTEN_ATTRIBUTE_PREFIX + name, maxAge.isZero() ? "" : value);
+        response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(name, value)
+                .path(StringUtils.hasLength(request.getContextPath()) ? request.getContextPath() : "/")
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .maxAge(maxAge)
+                .build()
+                .toString());
+    }
+
+    static void expire(HttpServletRequest request, HttpServletResponse response, String name) {
+        set(request, response, name, "", Duration.ZERO);
+    }
+}
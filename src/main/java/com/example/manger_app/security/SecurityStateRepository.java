@@ -0,0 +1,242 @@
+package com.example.manger_app.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Setter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.DeferredSecurityContext;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.client.web.OAuth2AuthorizedClientRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+public class SecurityStateRepository implements SecurityContextRepository, OAuth2AuthorizedClientRepository,
+        AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+    public static final String STATE_NAME = "MANAGER_SECURITY";
+
+    public static final String AUTHORIZATION_REQUEST_NAME = "MANAGER_AUTHORIZATION";
+
+    private static final Duration AUTHORIZATION_REQUEST_MAX_AGE = Duration.ofMinutes(5);
+
+    private static final String STATE_ATTRIBUTE = SecurityStateRepository.class.getName() + ".STATE";
+
+    private static final SecurityState NO_STATE = new SecurityState(Instant.EPOCH, null, Map.of());
+
+    private final SecurityStateStorage storage;
+
+    private final SecurityStateCodec codec;
+
+    private final Duration maxAge;
+
+    @Setter
+    private SecurityContextHolderStrategy securityContextHolder =
+            SecurityContextHolder.getContextHolderStrategy();
+
+    @Setter
+    private Clock clock = Clock.systemUTC();
+
+    public SecurityStateRepository(SecurityStateStorage storage, SecurityStateCodec codec, Duration maxAge) {
+        this.storage = storage;
+        this.codec = codec;
+        this.maxAge = maxAge;
+    }
+
+    @Override
+    public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
+        return new DeferredSecurityContext() {
+            @Override
+            public SecurityContext get() {
+                SecurityContext context = securityContextHolder.createEmptyContext();
+                context.setAuthentication(state(request).authentication());
+                return context;
+            }
+
+            @Override
+            public boolean isGenerated() {
+                return state(request).authentication() == null;
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public SecurityContext loadContext(HttpRequestResponseHolder requestResponseHolder) {
+        return loadDeferredContext(requestResponseHolder.getRequest()).get();
+    }
+
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+        SecurityState current = state(request);
+        if (!(context.getAuthentication() instanceof OAuth2AuthenticationToken authentication)) {
+            if (current != NO_STATE) {
+                storage.remove(request, response, STATE_NAME);
+                request.setAttribute(STATE_ATTRIBUTE, NO_STATE);
+            }
+            return;
+        }
+        if (current.authentication() != null && sameUser(current.authentication(), authentication)) {
+            return;
+        }
+
+        var authorizedClients = new LinkedHashMap<String, OAuth2AuthorizedClient>();
+        current.authorizedClients().forEach((registrationId, authorizedClient) -> {
+            if (authorizedClient.getPrincipalName().equals(authentication.getName())) {
+                authorizedClients.put(registrationId, authorizedClient);
+            }
+        });
+        write(request, response, new SecurityState(clock.instant(), authentication, authorizedClients), true);
+    }
+
+    @Override
+    public boolean containsContext(HttpServletRequest request) {
+        return state(request).authentication() != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends OAuth2AuthorizedClient> T loadAuthorizedClient(String clientRegistrationId,
+                                                                     Authentication principal,
+                                                                     HttpServletRequest request) {
+        OAuth2AuthorizedClient authorizedClient = state(request).authorizedClients().get(clientRegistrationId);
+        return authorizedClient != null && principal != null
+                && authorizedClient.getPrincipalName().equals(principal.getName()) ? (T) authorizedClient : null;
+    }
+
+    @Override
+    public void saveAuthorizedClient(OAuth2AuthorizedClient authorizedClient, Authentication principal,
+                                     HttpServletRequest request, HttpServletResponse response) {
+        SecurityState current = state(request);
+        if (current.authentication() != null && !current.authentication().getName().equals(principal.getName())) {
+            current = NO_STATE;
+        }
+
+        var authorizedClients = new LinkedHashMap<>(current.authorizedClients());
+        authorizedClients.values().removeIf(client -> !client.getPrincipalName().equals(principal.getName()));
+        authorizedClients.put(authorizedClient.getClientRegistration().getRegistrationId(), authorizedClient);
+        write(request, response, new SecurityState(current == NO_STATE ? clock.instant() : current.savedAt(),
+                current.authentication(), authorizedClients), current == NO_STATE);
+    }
+
+    @Override
+    public void removeAuthorizedClient(String clientRegistrationId, Authentication principal,
+                                       HttpServletRequest request, HttpServletResponse response) {
+        SecurityState current = state(request);
+        if (loadAuthorizedClient(clientRegistrationId, principal, request) == null) {
+            return;
+        }
+
+        var authorizedClients = new LinkedHashMap<>(current.authorizedClients());
+        authorizedClients.remove(clientRegistrationId);
+        if (current.authentication() == null && authorizedClients.isEmpty()) {
+            storage.remove(request, response, STATE_NAME);
+            request.setAttribute(STATE_ATTRIBUTE, NO_STATE);
+        } else {
+            write(request, response, new SecurityState(current.savedAt(), current.authentication(),
+                    authorizedClients), false);
+        }
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
+        String state = request.getParameter(OAuth2ParameterNames.STATE);
+        if (state == null) {
+            return null;
+        }
+
+        byte[] encoded = storage.load(request, AUTHORIZATION_REQUEST_NAME);
+        if (encoded == null) {
+            return null;
+        }
+        try {
+            OAuth2AuthorizationRequest authorizationRequest = codec.decodeAuthorizationRequest(encoded);
+            return state.equals(authorizationRequest.getState()) ? authorizationRequest : null;
+        } catch (IOException exception) {
+            return null;
+        }
+    }
+
+    @Override
+    public void saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest,
+                                         HttpServletRequest request, HttpServletResponse response) {
+        if (authorizationRequest == null) {
+            storage.remove(request, response, AUTHORIZATION_REQUEST_NAME);
+            return;
+        }
+
+        try {
+            storage.save(request, response, AUTHORIZATION_REQUEST_NAME, codec.encode(authorizationRequest),
+                    AUTHORIZATION_REQUEST_MAX_AGE, true);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest removeAuthorizationRequest(HttpServletRequest request,
+                                                                 HttpServletResponse response) {
+        OAuth2AuthorizationRequest authorizationRequest = loadAuthorizationRequest(request);
+        if (authorizationRequest != null) {
+            storage.remove(request, response, AUTHORIZATION_REQUEST_NAME);
+        }
+        return authorizationRequest;
+    }
+
+    private SecurityState state(HttpServletRequest request) {
+        if (request.getAttribute(STATE_ATTRIBUTE) instanceof SecurityState state) {
+            return state;
+        }
+
+        SecurityState state = NO_STATE;
+        byte[] encoded = storage.load(request, STATE_NAME);
+        if (encoded != null) {
+            try {
+                SecurityState decoded = codec.decode(encoded);
+                if (clock.instant().isBefore(decoded.savedAt().plus(maxAge))) {
+                    state = decoded;
+                }
+            } catch (IOException ignored) {
+            }
+        }
+        request.setAttribute(STATE_ATTRIBUTE, state);
+        return state;
+    }
+
+    private void write(HttpServletRequest request, HttpServletResponse response, SecurityState state,
+                       boolean renew) {
+        Duration remaining = Duration.between(clock.instant(), state.savedAt().plus(maxAge));
+        if (remaining.isNegative() || remaining.isZero()) {
+            storage.remove(request, response, STATE_NAME);
+            request.setAttribute(STATE_ATTRIBUTE, NO_STATE);
+            return;
+        }
+
+        try {
+            storage.save(request, response, STATE_NAME, codec.encode(state), remaining, renew);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        request.setAttribute(STATE_ATTRIBUTE, state);
+    }
+
+    private static boolean sameUser(OAuth2AuthenticationToken left, OAuth2AuthenticationToken right) {
+        return left.getName().equals(right.getName())
+                && left.getAuthorizedClientRegistrationId().equals(right.getAuthorizedClientRegistrationId())
+                && Objects.equals(left.getAuthorities(), right.getAuthorities());
+    }
+}
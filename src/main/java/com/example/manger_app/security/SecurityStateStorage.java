@@ -0,0 +1,15 @@
+package com.example.manger_app.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.time.Duration;
+
+public interface SecurityStateStorage {
+    byte[] load(HttpServletRequest request, String name);
+
+    void save(HttpServletRequest request, HttpServletResponse response, String name, byte[] state,
+              Duration maxAge, boolean renew);
+
+    void remove(HttpServletRequest request, HttpServletResponse response, String name);
+}
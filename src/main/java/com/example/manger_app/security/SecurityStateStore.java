@@ -0,0 +1,11 @@
+package com.example.manger_app.security;
+
+import java.time.Duration;
+
+public interface SecurityStateStore {
+    byte[] get(String key);
+
+    void put(String key, byte[] state, Duration timeToLive);
+
+    void remove(String key);
+}
@@ -0,0 +1,53 @@
+package com.example.manger_app.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+public class SharedStoreStorage implements SecurityStateStorage {
+    private final SecurityStateStore store;
+
+    private final SecureRandom random = new SecureRandom();
+
+    public SharedStoreStorage(SecurityStateStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public byte[] load(HttpServletRequest request, String name) {
+        String id = SecurityStateCookies.value(request, name);
+        return id == null ? null : store.get(key(name, id));
+    }
+
+    @Override
+    public void save(HttpServletRequest request, HttpServletResponse response, String name, byte[] state,
+                     Duration maxAge, boolean renew) {
+        String id = SecurityStateCookies.value(request, name);
+        if (id == null || renew) {
+            if (id != null) {
+                store.remove(key(name, id));
+            }
+            byte[] bytes = new byte[32];
+            random.nextBytes(bytes);
+            id = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        }
+        store.put(key(name, id), state, maxAge);
+        SecurityStateCookies.set(request, response, name, id, maxAge);
+    }
+
+    @Override
+    public void remove(HttpServletRequest request, HttpServletResponse response, String name) {
+        String id = SecurityStateCookies.value(request, name);
+        if (id != null) {
+            store.remove(key(name, id));
+            SecurityStateCookies.expire(request, response, name);
+        }
+    }
+
+    private static String key(String name, String id) {
+        return name + ":" + id;
+    }
+}
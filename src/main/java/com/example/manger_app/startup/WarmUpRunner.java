@@ -0,0 +1,118 @@
+package com.example.manger_app.startup;
+
+import com.example.manger_app.controller.payload.NewProductPayload;
+import com.example.manger_app.controller.payload.UpdateProductPayload;
+import com.example.manger_app.entity.Product;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.exceptions.TemplateProcessingException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class WarmUpRunner implements ApplicationRunner {
+    private static final String TEMPLATES_LOCATION = "classpath:/templates/";
+
+    private static final byte[] SAMPLE_PRODUCTS = """
+            [{"id": 1, "title": "Товар 1", "details": "Описание товара 1"},
+             {"id": 2, "title": "Товар 2", "details": null}]""".getBytes();
+
+    private final ClientHttpRequestFactory catalogueRequestFactory;
+
+    private final URI catalogueUri;
+
+    private final int connections;
+
+    private final ITemplateEngine templateEngine;
+
+    private final ResourcePatternResolver resourceResolver;
+
+    private final ObjectMapper objectMapper;
+
+    public WarmUpRunner(ClientHttpRequestFactory catalogueRequestFactory, URI catalogueUri, int connections,
+                        ITemplateEngine templateEngine, ResourcePatternResolver resourceResolver,
+                        ObjectMapper objectMapper) {
+        this.catalogueRequestFactory = catalogueRequestFactory;
+        this.catalogueUri = catalogueUri;
+        this.connections = connections;
+        this.templateEngine = templateEngine;
+        this.resourceResolver = resourceResolver;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        openCatalogueConnections();
+        parseTemplates();
+        exerciseJsonMapping();
+    }
+
+    void openCatalogueConnections() {
+        var responses = new ArrayList<ClientHttpResponse>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                responses.add(catalogueRequestFactory.createRequest(catalogueUri, HttpMethod.GET).execute());
+            }
+        } catch (IOException | RuntimeException exception) {
+            return;
+        } finally {
+            for (ClientHttpResponse response : responses) {
+                try (response) {
+                    StreamUtils.drain(response.getBody());
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    void parseTemplates() {
+        for (String template : templates()) {
+            try {
+                templateEngine.processThrottled(template, new Context(Locale.getDefault()));
+            } catch (TemplateProcessingException ignored) {
+            }
+        }
+    }
+
+    void exerciseJsonMapping() {
+        try {
+            List<Product> products = objectMapper.readValue(SAMPLE_PRODUCTS, new TypeReference<>() {
+            });
+            objectMapper.readerFor(Product.class).readValues(SAMPLE_PRODUCTS).readAll();
+            objectMapper.writeValueAsBytes(products);
+            objectMapper.writeValueAsBytes(new NewProductPayload("Товар", "Описание"));
+            objectMapper.writeValueAsBytes(new UpdateProductPayload("Товар", "Описание"));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private List<String> templates() {
+        try {
+            Resource root = resourceResolver.getResource(TEMPLATES_LOCATION);
+            String rootUri = root.getURI().toString();
+            var templates = new ArrayList<String>();
+            for (Resource resource : resourceResolver.getResources(TEMPLATES_LOCATION + "**/*.html")) {
+                String uri = resource.getURI().toString();
+                templates.add(uri.substring(rootUri.length(), uri.length() - ".html".length()));
+            }
+            return templates;
+        } catch (IOException exception) {
+            return List.of();
+        }
+    }
+}
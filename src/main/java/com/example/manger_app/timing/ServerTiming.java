@@ -0,0 +1,83 @@
+package com.example.manger_app.timing;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ServerTiming {
+    public static final String HEADER = "Server-Timing";
+
+    static final String ATTRIBUTE = ServerTiming.class.getName();
+
+    private final long startedAt = System.nanoTime();
+
+    private final LongAdder[] durations = new LongAdder[Phase.values().length];
+
+    private final LongAdder[] counts = new LongAdder[Phase.values().length];
+
+    public ServerTiming() {
+        for (int i = 0; i < durations.length; i++) {
+            durations[i] = new LongAdder();
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public static void record(Phase phase, long durationNanos) {
+        ServerTiming timing = current();
+        if (timing != null) {
+            timing.add(phase, durationNanos);
+        }
+    }
+
+    static ServerTiming current() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        try {
+            return requestAttributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                    instanceof ServerTiming timing ? timing : null;
+        } catch (IllegalStateException exception) {
+            return null;
+        }
+    }
+
+    public void add(Phase phase, long durationNanos) {
+        durations[phase.ordinal()].add(durationNanos);
+        counts[phase.ordinal()].increment();
+    }
+
+    public String headerValue() {
+        var value = new StringJoiner(", ");
+        for (Phase phase : Phase.values()) {
+            long count = counts[phase.ordinal()].sum();
+            if (count > 0) {
+                value.add(metric(phase.metricName, durations[phase.ordinal()].sum())
+                        + (count > 1 ? ";desc=\"%d calls\"".formatted(count) : ""));
+            }
+        }
+        value.add(metric("total", System.nanoTime() - startedAt));
+        return value.toString();
+    }
+
+    private static String metric(String name, long durationNanos) {
+        return String.format(Locale.ROOT, "%s;dur=%.1f", name, durationNanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    public enum Phase {
+        AUTH("auth"),
+        CATALOGUE("catalogue"),
+        PARSE("parse"),
+        RENDER("render");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.manger_app.timing;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+public class ServerTimingClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long startedAt = System.nanoTime();
+        try {
+            return execution.execute(request, body);
+        } finally {
+            ServerTiming.record(ServerTiming.Phase.CATALOGUE, System.nanoTime() - startedAt);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.manger_app.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class ServerTimingFilter extends OncePerRequestFilter {
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var timing = new ServerTiming();
+        request.setAttribute(ServerTiming.ATTRIBUTE, timing);
+
+        if (HttpMethod.GET.matches(request.getMethod()) && request.getParameter("stream") != null) {
+            response.setTrailerFields(() -> Map.of(ServerTiming.HEADER, timing.headerValue()));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        var bufferedResponse = new ServerTimingResponseWrapper(response, timing);
+        try {
+            filterChain.doFilter(request, bufferedResponse);
+        } finally {
+            bufferedResponse.writeServerTiming();
+            bufferedResponse.copyBodyToResponse();
+        }
+    }
+
+    private static class ServerTimingResponseWrapper extends ContentCachingResponseWrapper {
+        private final ServerTiming timing;
+
+        ServerTimingResponseWrapper(HttpServletResponse response, ServerTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        void writeServerTiming() {
+            if (!isCommitted()) {
+                setHeader(ServerTiming.HEADER, timing.headerValue());
+            }
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeServerTiming();
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeServerTiming();
+            super.sendError(sc, msg);
+        }
+    }
+}
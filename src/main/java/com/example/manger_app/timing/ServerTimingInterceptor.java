@@ -0,0 +1,27 @@
+package com.example.manger_app.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+public class ServerTimingInterceptor implements HandlerInterceptor {
+    private static final String RENDER_STARTED_AT_ATTRIBUTE = ServerTimingInterceptor.class.getName() + ".renderStartedAt";
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView != null && request.getAttribute(ServerTiming.ATTRIBUTE) != null) {
+            request.setAttribute(RENDER_STARTED_AT_ATTRIBUTE, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception exception) {
+        if (request.getAttribute(RENDER_STARTED_AT_ATTRIBUTE) instanceof Long renderStartedAt
+                && request.getAttribute(ServerTiming.ATTRIBUTE) instanceof ServerTiming timing) {
+            timing.add(ServerTiming.Phase.RENDER, System.nanoTime() - renderStartedAt);
+        }
+    }
+}
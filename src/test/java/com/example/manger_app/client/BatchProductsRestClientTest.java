@@ -0,0 +1,145 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class BatchProductsRestClientTest {
+    static final int PARALLELISM = 8;
+
+    ProductsRestClient productsRestClient = mock(ProductsRestClient.class);
+
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    BatchProductsRestClient client = new BatchProductsRestClient(productsRestClient, executor, PARALLELISM);
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deleteProducts_RunsCallsConcurrentlyWithinParallelismLimit() {
+        var inFlight = new AtomicInteger();
+        var maxInFlight = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return null;
+        }).when(productsRestClient).deleteProduct(anyInt());
+        var productIds = IntStream.rangeClosed(1, 200).boxed().toList();
+
+        long start = System.nanoTime();
+        var results = client.deleteProducts(productIds);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(productIds, results.stream().map(ProductOperationResult::productId).toList());
+        assertTrue(results.stream().allMatch(ProductOperationResult::isOk));
+        assertEquals(PARALLELISM, maxInFlight.get());
+        assertTrue(elapsedMillis < 200 * 20 / 2, "elapsed " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void updateProducts_SomeCallsFail_ReportsResultPerProduct() {
+        IntStream.rangeClosed(1, 4).forEach(id -> doReturn(Optional.of(new VersionedProduct(
+                new Product(id, "Товар", "Описание товара %d".formatted(id)), "\"%d\"".formatted(id))))
+                .when(productsRestClient).findVersionedProduct(id));
+        doThrow(new BadRequestException(List.of("Ошибка 1"))).when(productsRestClient)
+                .updateProduct(2, " ", "Описание товара 2", "\"2\"");
+        doThrow(new NoSuchElementException("catalogue.errors.product.not_found")).when(productsRestClient)
+                .updateProduct(3, "Товар 3", "Описание товара 3", "\"3\"");
+        doThrow(new IllegalStateException("Сбой")).when(productsRestClient)
+                .updateProduct(4, "Товар 4", "Описание товара 4", "\"4\"");
+
+        var results = client.updateProducts(List.of(
+                new BatchProductsRestClient.ProductUpdate(1, "Товар 1", "Описание товара 1"),
+                new BatchProductsRestClient.ProductUpdate(2, " ", "Описание товара 2"),
+                new BatchProductsRestClient.ProductUpdate(3, "Товар 3", "Описание товара 3"),
+                new BatchProductsRestClient.ProductUpdate(4, "Товар 4", "Описание товара 4")));
+
+        assertEquals(List.of(
+                ProductOperationResult.ok(1),
+                new ProductOperationResult(2, ProductOperationResult.Status.INVALID, List.of("Ошибка 1")),
+                new ProductOperationResult(3, ProductOperationResult.Status.NOT_FOUND, List.of()),
+                new ProductOperationResult(4, ProductOperationResult.Status.FAILED, List.of("Сбой"))), results);
+        verify(productsRestClient).updateProduct(1, "Товар 1", "Описание товара 1", "\"1\"");
+    }
+
+    @Test
+    void updateProducts_DetailsWereChangedSinceRendering_ReportsConflictWithoutWriting() {
+        doReturn(Optional.of(new VersionedProduct(new Product(1, "Товар 1", "Новое описание"), "\"2\"")))
+                .when(productsRestClient).findVersionedProduct(1);
+        doReturn(Optional.empty()).when(productsRestClient).findVersionedProduct(2);
+
+        var results = client.updateProducts(List.of(
+                new BatchProductsRestClient.ProductUpdate(1, "Товар 1 обновленный", "Старое описание"),
+                new BatchProductsRestClient.ProductUpdate(2, "Товар 2", "Описание товара 2")));
+
+        assertEquals(List.of(
+                new ProductOperationResult(1, ProductOperationResult.Status.CONFLICT, List.of()),
+                new ProductOperationResult(2, ProductOperationResult.Status.NOT_FOUND, List.of())), results);
+        verify(productsRestClient, never()).updateProduct(anyInt(), any(), any(), any());
+        verify(productsRestClient, never()).updateProduct(anyInt(), any(), any());
+    }
+
+    @Test
+    void deleteProducts_CallsRunWithCallersSecurityContext() {
+        var principals = ConcurrentHashMap.<String>newKeySet();
+        doAnswer(invocation -> {
+            principals.add(SecurityContextHolder.getContext().getAuthentication().getName());
+            return null;
+        }).when(productsRestClient).deleteProduct(anyInt());
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+
+        client.deleteProducts(List.of(1, 2, 3));
+
+        assertEquals(Set.of("user"), principals);
+    }
+
+    @Test
+    void deleteProducts_CallerHasRequest_DoesNotShareItWithWorkers() {
+        var workerRequests = ConcurrentHashMap.<Boolean>newKeySet();
+        doAnswer(invocation -> {
+            workerRequests.add(RequestContextHolder.getRequestAttributes() != null);
+            return null;
+        }).when(productsRestClient).deleteProduct(anyInt());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(),
+                new MockHttpServletResponse()));
+        try {
+            client.deleteProducts(List.of(1, 2, 3));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertEquals(Set.of(false), workerRequests);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingProductsRestClientTest {
+    @Mock
+    ProductsRestClient delegate;
+
+    CachingProductsRestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new CachingProductsRestClient(delegate, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void findProduct_ProductIsCached_ReturnsCachedProduct() {
+        var product = new Product(1, "Товар 1", "Описание товара 1");
+        doReturn(versioned(product)).when(delegate).findVersionedProduct(1);
+
+        assertEquals(Optional.of(product), client.findProduct(1));
+        assertEquals(Optional.of(product), client.findProduct(1));
+
+        verify(delegate).findVersionedProduct(1);
+        verifyNoMoreInteractions(delegate);
+        assertEquals(1, client.stats().hitCount());
+        assertEquals(1, client.stats().missCount());
+    }
+
+    @Test
+    void findProduct_ProductDoesNotExist_CachesNotFound() {
+        doReturn(Optional.empty()).when(delegate).findVersionedProduct(1);
+
+        assertEquals(Optional.empty(), client.findProduct(1));
+        assertEquals(Optional.empty(), client.findProduct(1));
+
+        verify(delegate).findVersionedProduct(1);
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    void findProduct_LoadFailsWithError_DoesNotLeaveLoadingEntryBehind() {
+        var product = new Product(1, "Товар 1", "Описание товара 1");
+        doThrow(new StackOverflowError()).doReturn(versioned(product)).when(delegate).findVersionedProduct(1);
+
+        assertThrows(StackOverflowError.class, () -> client.findProduct(1));
+        assertEquals(Optional.of(product), CompletableFuture.supplyAsync(() -> client.findProduct(1))
+                .orTimeout(5, TimeUnit.SECONDS)
+                .join());
+
+        verify(delegate, times(2)).findVersionedProduct(1);
+    }
+
+    @Test
+    void updateProduct_InvalidatesCachedProduct() {
+        doReturn(versioned(new Product(1, "Товар 1", "Описание товара 1")))
+                .doReturn(versioned(new Product(1, "Товар 1 обновленный", "Описание товара 1")))
+                .when(delegate).findVersionedProduct(1);
+
+        client.findProduct(1);
+        client.updateProduct(1, "Товар 1 обновленный", "Описание товара 1");
+
+        assertEquals(Optional.of(new Product(1, "Товар 1 обновленный", "Описание товара 1")),
+                client.findProduct(1));
+        verify(delegate, times(2)).findVersionedProduct(1);
+    }
+
+    @Test
+    void findProduct_ProductIsUpdatedWhileLoading_DoesNotCacheLoadedProduct() throws Exception {
+        var loading = new CountDownLatch(1);
+        var updated = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            loading.countDown();
+            updated.await();
+            return versioned(new Product(1, "Товар 1", "Описание товара 1"));
+        }).doReturn(versioned(new Product(1, "Товар 1 обновленный", "Описание товара 1")))
+                .when(delegate).findVersionedProduct(1);
+
+        var read = CompletableFuture.supplyAsync(() -> client.findProduct(1));
+        loading.await();
+        client.updateProduct(1, "Товар 1 обновленный", "Описание товара 1");
+        updated.countDown();
+
+        assertEquals(Optional.of(new Product(1, "Товар 1", "Описание товара 1")), read.get());
+        assertEquals(Optional.of(new Product(1, "Товар 1 обновленный", "Описание товара 1")),
+                client.findProduct(1));
+        verify(delegate, times(2)).findVersionedProduct(1);
+    }
+
+    @Test
+    void updateProduct_RequestIsInvalid_InvalidatesCachedProduct() {
+        doReturn(versioned(new Product(1, "Товар 1", "Описание товара 1"))).when(delegate).findVersionedProduct(1);
+        doThrow(new BadRequestException(List.of("Ошибка 1"))).when(delegate).updateProduct(1, " ", null);
+
+        client.findProduct(1);
+        assertThrows(BadRequestException.class, () -> client.updateProduct(1, " ", null));
+        client.findProduct(1);
+
+        verify(delegate, times(2)).findVersionedProduct(1);
+    }
+
+    @Test
+    void deleteProduct_ProductDoesNotExist_InvalidatesCachedProduct() {
+        doReturn(versioned(new Product(1, "Товар 1", "Описание товара 1")))
+                .doReturn(Optional.empty())
+                .when(delegate).findVersionedProduct(1);
+        doThrow(new NoSuchElementException()).when(delegate).deleteProduct(1);
+
+        client.findProduct(1);
+        assertThrows(NoSuchElementException.class, () -> client.deleteProduct(1));
+
+        assertEquals(Optional.empty(), client.findProduct(1));
+        assertEquals(1, client.getCache().estimatedSize());
+    }
+
+    @Test
+    void createProduct_CachesCreatedProduct() {
+        var product = new Product(1, "Новый товар", "Описание нового товара");
+        doReturn(product).when(delegate).createProduct("Новый товар", "Описание нового товара");
+
+        client.createProduct("Новый товар", "Описание нового товара");
+
+        assertEquals(Optional.of(product), client.findProduct(1));
+        verify(delegate).createProduct("Новый товар", "Описание нового товара");
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    void findVersionedProduct_ProductWasCreated_LoadsVersionOnce() {
+        var product = new Product(1, "Новый товар", "Описание нового товара");
+        doReturn(product).when(delegate).createProduct("Новый товар", "Описание нового товара");
+        doReturn(versioned(product)).when(delegate).findVersionedProduct(1);
+
+        client.createProduct("Новый товар", "Описание нового товара");
+
+        assertEquals(versioned(product), client.findVersionedProduct(1));
+        assertEquals(versioned(product), client.findVersionedProduct(1));
+        verify(delegate).findVersionedProduct(1);
+    }
+
+    static Optional<VersionedProduct> versioned(Product product) {
+        return Optional.of(new VersionedProduct(product, "\"v1\""));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.manger_app.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CatalogueOperationTest {
+    @Test
+    void of_ResolvesOperationFromMethodAndPath() {
+        assertEquals(CatalogueOperation.FIND_ALL_PRODUCTS, CatalogueOperation.of(HttpMethod.GET,
+                URI.create("http://localhost:8081/catalogue-api/products?filter=&page=0&size=20")));
+        assertEquals(CatalogueOperation.FIND_PRODUCT, CatalogueOperation.of(HttpMethod.GET,
+                URI.create("http://localhost:8081/catalogue-api/products/1")));
+        assertEquals(CatalogueOperation.CREATE_PRODUCT, CatalogueOperation.of(HttpMethod.POST,
+                URI.create("http://localhost:8081/catalogue-api/products")));
+        assertEquals(CatalogueOperation.UPDATE_PRODUCT, CatalogueOperation.of(HttpMethod.PATCH,
+                URI.create("http://localhost:8081/catalogue-api/products/1")));
+        assertEquals(CatalogueOperation.DELETE_PRODUCT, CatalogueOperation.of(HttpMethod.DELETE,
+                URI.create("http://localhost:8081/catalogue-api/products/1")));
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class CoalescingProductsRestClientTest {
+    static final int CALLERS = 50;
+
+    ProductsRestClient delegate = mock(ProductsRestClient.class);
+
+    CountDownLatch upstreamCallStarted = new CountDownLatch(1);
+
+    CountDownLatch upstreamCallReleased = new CountDownLatch(1);
+
+    AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void findProduct_BurstOfIdenticalCalls_SharesOneUpstreamCall() throws Exception {
+        var product = new Product(1, "Товар 1", "Описание товара 1");
+        blockUpstreamCalls(() -> Optional.of(product));
+        var client = new CoalescingProductsRestClient(delegate, CoalescingProductsRestClient.Scope.AUTHORITIES);
+
+        List<Future<Optional<Product>>> results = burst(() -> client.findProduct(1), "ROLE_MANAGER");
+
+        for (var result : results) {
+            assertEquals(Optional.of(product), result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1, client.getUpstreamCalls());
+        assertEquals(CALLERS - 1, client.getCoalescedCalls());
+    }
+
+    @Test
+    void findProduct_UpstreamCallFails_SharesError() throws Exception {
+        blockUpstreamCalls(() -> {
+            throw new NoSuchElementException("catalogue.errors.product.not_found");
+        });
+        var client = new CoalescingProductsRestClient(delegate, CoalescingProductsRestClient.Scope.AUTHORITIES);
+
+        List<Future<Optional<Product>>> results = burst(() -> client.findProduct(1), "ROLE_MANAGER");
+
+        for (var result : results) {
+            var exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(NoSuchElementException.class, exception.getCause());
+        }
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void findProduct_CallersHaveDifferentPrincipals_DoesNotShareCallsInPrincipalScope() throws Exception {
+        blockUpstreamCalls(Optional::empty);
+        var client = new CoalescingProductsRestClient(delegate, CoalescingProductsRestClient.Scope.PRINCIPAL);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            var first = executor.submit(() -> callAs("first.user", "ROLE_MANAGER", () -> client.findProduct(1)));
+            assertTrue(upstreamCallStarted.await(5, TimeUnit.SECONDS));
+            var second = executor.submit(() -> callAs("second.user", "ROLE_MANAGER", () -> client.findProduct(1)));
+            while (upstreamCalls.get() < 2) {
+                Thread.onSpinWait();
+            }
+            upstreamCallReleased.countDown();
+
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0, client.getCoalescedCalls());
+    }
+
+    @Test
+    void findProduct_CallsAreSequential_DoesNotShareResults() {
+        doAnswer(invocation -> Optional.of(new Product(upstreamCalls.incrementAndGet(), "Товар", "Описание")))
+                .when(delegate).findProduct(anyInt());
+        var client = new CoalescingProductsRestClient(delegate, CoalescingProductsRestClient.Scope.AUTHORITIES);
+
+        client.findProduct(1);
+        client.findProduct(1);
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0, client.getCoalescedCalls());
+    }
+
+    private void blockUpstreamCalls(Supplier<Optional<Product>> answer) {
+        doAnswer(invocation -> {
+            upstreamCalls.incrementAndGet();
+            upstreamCallStarted.countDown();
+            upstreamCallReleased.await(5, TimeUnit.SECONDS);
+            return answer.get();
+        }).when(delegate).findProduct(anyInt());
+    }
+
+    private <T> List<Future<T>> burst(Supplier<T> call, String authority) throws InterruptedException {
+        var results = new ArrayList<Future<T>>();
+        var callersStarted = new CountDownLatch(CALLERS);
+        try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    callersStarted.countDown();
+                    return callAs("user", authority, call);
+                }));
+            }
+            assertTrue(upstreamCallStarted.await(5, TimeUnit.SECONDS));
+            assertTrue(callersStarted.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            upstreamCallReleased.countDown();
+        }
+        return results;
+    }
+
+    private static <T> T callAs(String username, String authority, Supplier<T> call) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(new TestingAuthenticationToken(username, "password", authority));
+        try {
+            return call.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class HedgingProductsRestClientTest {
+    static final Product PRODUCT = new Product(1, "Товар 1", "Описание товара 1");
+
+    ProductsRestClient delegate = mock(ProductsRestClient.class);
+
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+
+    CountDownLatch slowCallReleased = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        slowCallReleased.countDown();
+        executor.close();
+        scheduler.shutdownNow();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void findProduct_PrimaryAnswersBeforeDelay_CancelsScheduledHedge() {
+        scheduler.setRemoveOnCancelPolicy(true);
+        var client = new HedgingProductsRestClient(delegate, executor, scheduler, Duration.ofSeconds(1), 10, 10);
+        doReturn(Optional.of(PRODUCT)).when(delegate).findProduct(1);
+
+        client.findProduct(1);
+
+        assertTrue(scheduler.getQueue().isEmpty());
+    }
+
+    @Test
+    void findProduct_PrimaryAnswersBeforeDelay_DoesNotHedge() {
+        var client = new HedgingProductsRestClient(delegate, executor, scheduler, Duration.ofSeconds(1), 10, 10);
+        doReturn(Optional.of(PRODUCT)).when(delegate).findProduct(1);
+
+        assertEquals(Optional.of(PRODUCT), client.findProduct(1));
+
+        verify(delegate, times(1)).findProduct(1);
+        assertEquals(0, client.getHedgedCalls());
+    }
+
+    @Test
+    void findProduct_PrimaryIsSlow_ReturnsHedgeResult() {
+        var client = new HedgingProductsRestClient(delegate, executor, scheduler, Duration.ofMillis(50), 10, 10);
+        var calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                slowCallReleased.await(5, TimeUnit.SECONDS);
+            }
+            return Optional.of(PRODUCT);
+        }).when(delegate).findProduct(1);
+
+        long start = System.nanoTime();
+        assertEquals(Optional.of(PRODUCT), client.findProduct(1));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 1_000, "elapsed " + elapsedMillis + " ms");
+        assertEquals(2, calls.get());
+        assertEquals(1, client.getHedgedCalls());
+        assertEquals(1, client.getHedgeWins());
+    }
+
+    @Test
+    void findProduct_BudgetIsExhausted_WaitsForPrimary() throws Exception {
+        var client = new HedgingProductsRestClient(delegate, executor, scheduler, Duration.ofMillis(20), 0, 1);
+        var calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            calls.incrementAndGet();
+            Thread.sleep(100);
+            return Optional.of(PRODUCT);
+        }).when(delegate).findProduct(1);
+
+        assertEquals(Optional.of(PRODUCT), client.findProduct(1));
+        assertEquals(Optional.of(PRODUCT), client.findProduct(1));
+        assertEquals(Optional.of(PRODUCT), client.findProduct(1));
+
+        assertEquals(1, client.getHedgedCalls());
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void findProduct_PrimaryFailsBeforeDelay_ThrowsWithoutHedging() {
+        var client = new HedgingProductsRestClient(delegate, executor, scheduler, Duration.ofSeconds(1), 10, 10);
+        doThrow(new IllegalStateException("Сбой")).when(delegate).findProduct(1);
+
+        var exception = assertThrows(IllegalStateException.class, () -> client.findProduct(1));
+
+        assertEquals("Сбой", exception.getMessage());
+        assertEquals(0, client.getHedgedCalls());
+    }
+
+    @Test
+    void findProduct_AttemptsRunWithCallersSecurityContext() {
+        var client = new HedgingProductsRestClient(delegate, executor, scheduler, Duration.ofMillis(20), 10, 10);
+        var principals = ConcurrentHashMap.<String>newKeySet();
+        var calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            principals.add(SecurityContextHolder.getContext().getAuthentication().getName());
+            if (calls.incrementAndGet() == 1) {
+                slowCallReleased.await(5, TimeUnit.SECONDS);
+            }
+            return Optional.of(PRODUCT);
+        }).when(delegate).findProduct(1);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+
+        client.findProduct(1);
+
+        assertEquals(Set.of("user"), principals);
+    }
+
+    @Test
+    void findProduct_PrimaryIsSlow_RunsAttemptsOnWorkersWithoutRequest() {
+        var client = new HedgingProductsRestClient(delegate, executor, scheduler, Duration.ofMillis(20), 10, 10);
+        var attempts = new ConcurrentHashMap<Thread, Boolean>();
+        doAnswer(invocation -> {
+            attempts.put(Thread.currentThread(), RequestContextHolder.getRequestAttributes() != null);
+            if (attempts.size() == 1) {
+                slowCallReleased.await(5, TimeUnit.SECONDS);
+            }
+            return Optional.of(PRODUCT);
+        }).when(delegate).findProduct(1);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            assertEquals(Optional.of(PRODUCT), client.findProduct(1));
+
+            assertFalse(Thread.interrupted());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertEquals(2, attempts.size());
+        assertFalse(attempts.containsKey(Thread.currentThread()));
+        assertFalse(attempts.containsValue(true));
+        assertEquals(1, client.getHedgeWins());
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import com.example.manger_app.security.OAuthClientHttpRequestInterceptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+@WireMockTest
+class HttpClientAsyncProductsRestClientIT {
+    HttpClientAsyncProductsRestClient client;
+
+    @BeforeEach
+    void setUp(WireMockRuntimeInfo wireMock) {
+        var authorizedClientManager = mock(OAuth2AuthorizedClientManager.class);
+        doReturn(new OAuth2AuthorizedClient(ClientRegistration.withRegistrationId("keycloak")
+                .clientId("manager-app")
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .tokenUri("http://localhost/token")
+                .build(), "user", new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "token",
+                Instant.now(), Instant.now().plusSeconds(300))))
+                .when(authorizedClientManager).authorize(any());
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+
+        client = new HttpClientAsyncProductsRestClient(
+                HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(),
+                wireMock.getHttpBaseUrl(), new ObjectMapper(),
+                new OAuthClientHttpRequestInterceptor(authorizedClientManager, "keycloak"),
+                Executors.newVirtualThreadPerTaskExecutor(), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void findAllProducts_ReturnsProductsAndKeepsSecurityContext() throws Exception {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products"))
+                .withQueryParam("filter", WireMock.equalTo("товар"))
+                .withHeader(HttpHeaders.AUTHORIZATION, WireMock.equalTo("Bearer token"))
+                .willReturn(WireMock.okJson("""
+                        [
+                            {"id": 1, "title": "Товар 1", "details": "Описание товара 1"},
+                            {"id": 2, "title": "Товар 2", "details": "Описание товара 2"}
+                        ]""")));
+
+        var result = client.findAllProducts("товар")
+                .thenApply(products -> new Object[]{products,
+                        SecurityContextHolder.getContext().getAuthentication().getName()})
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(
+                new Product(1, "Товар 1", "Описание товара 1"),
+                new Product(2, "Товар 2", "Описание товара 2")), result[0]);
+        assertEquals("user", result[1]);
+    }
+
+    @Test
+    void findProduct_ProductDoesNotExist_ReturnsEmptyOptional() throws Exception {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .willReturn(WireMock.notFound()));
+
+        assertEquals(Optional.empty(), client.findProduct(1).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void createProduct_RequestIsInvalid_CompletesWithBadRequestException() {
+        WireMock.stubFor(WireMock.post(WireMock.urlPathMatching("/catalogue-api/products"))
+                .withRequestBody(WireMock.equalToJson("""
+                        {"title": " ", "details": null}"""))
+                .willReturn(WireMock.badRequest()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_PROBLEM_JSON_VALUE)
+                        .withBody("""
+                                {"errors": ["Ошибка 1", "Ошибка 2"]}""")));
+
+        var exception = assertThrows(CompletionException.class, () -> client.createProduct(" ", null).join());
+
+        var badRequest = assertInstanceOf(BadRequestException.class, exception.getCause());
+        assertEquals(List.of("Ошибка 1", "Ошибка 2"), badRequest.getErrors());
+    }
+
+    @Test
+    void updateProduct_RequestIsValid_SendsPatch() throws Exception {
+        WireMock.stubFor(WireMock.patch(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .willReturn(WireMock.noContent()));
+
+        client.updateProduct(1, "Товар 1", "Описание товара 1").get(5, TimeUnit.SECONDS);
+
+        WireMock.verify(WireMock.patchRequestedFor(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .withHeader(HttpHeaders.AUTHORIZATION, WireMock.equalTo("Bearer token"))
+                .withRequestBody(WireMock.equalToJson("""
+                        {"title": "Товар 1", "details": "Описание товара 1"}""")));
+    }
+
+    @Test
+    void deleteProduct_ProductDoesNotExist_CompletesWithNoSuchElementException() {
+        WireMock.stubFor(WireMock.delete(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .willReturn(WireMock.notFound()));
+
+        var exception = assertThrows(CompletionException.class, () -> client.deleteProduct(1).join());
+
+        assertInstanceOf(NoSuchElementException.class, exception.getCause());
+    }
+
+    @Test
+    void deleteProduct_ServerFails_CompletesWithHttpServerErrorException() {
+        WireMock.stubFor(WireMock.delete(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .willReturn(WireMock.serverError()));
+
+        var exception = assertThrows(CompletionException.class, () -> client.deleteProduct(1).join());
+
+        assertInstanceOf(HttpServerErrorException.InternalServerError.class, exception.getCause());
+    }
+}
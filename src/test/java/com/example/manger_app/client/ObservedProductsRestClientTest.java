@@ -0,0 +1,148 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+
+@ExtendWith(MockitoExtension.class)
+class ObservedProductsRestClientTest {
+    @Mock
+    ProductsRestClient delegate;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    ObservedProductsRestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new ObservedProductsRestClient(delegate, meterRegistry);
+    }
+
+    @Test
+    void findProduct_ProductExists_RecordsSuccess() {
+        doReturn(Optional.of(new Product(1, "Товар 1", "Описание товара 1"))).when(delegate).findProduct(1);
+
+        client.findProduct(1);
+
+        assertEquals(1, meterRegistry.get("catalogue.client.calls")
+                .tag("operation", "findProduct")
+                .tag("outcome", "SUCCESS")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void findProduct_ProductDoesNotExist_RecordsNotFound() {
+        doReturn(Optional.empty()).when(delegate).findProduct(1);
+
+        client.findProduct(1);
+
+        assertEquals(1, meterRegistry.get("catalogue.client.calls")
+                .tag("operation", "findProduct")
+                .tag("outcome", "NOT_FOUND")
+                .timer()
+                .count());
+        assertEquals(1, meterRegistry.get("catalogue.client.not.found")
+                .tag("operation", "findProduct")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void createProduct_RequestIsInvalid_RecordsBadRequestAndRethrows() {
+        var exception = new BadRequestException(List.of("Ошибка"));
+        doThrow(exception).when(delegate).createProduct(" ", null);
+
+        assertEquals(exception, assertThrows(BadRequestException.class, () -> client.createProduct(" ", null)));
+
+        assertEquals(1, meterRegistry.get("catalogue.client.calls")
+                .tag("operation", "createProduct")
+                .tag("outcome", "BAD_REQUEST")
+                .timer()
+                .count());
+        assertEquals(1, meterRegistry.get("catalogue.client.bad.requests")
+                .tag("operation", "createProduct")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void tryCreateProduct_RequestIsInvalid_RecordsBadRequestAndReturnsErrors() {
+        doReturn(new ValidationResult.Invalid<Product>(List.of("Ошибка"))).when(delegate).tryCreateProduct(" ", null);
+
+        assertEquals(new ValidationResult.Invalid<Product>(List.of("Ошибка")), client.tryCreateProduct(" ", null));
+
+        assertEquals(1, meterRegistry.get("catalogue.client.calls")
+                .tag("operation", "createProduct")
+                .tag("outcome", "BAD_REQUEST")
+                .timer()
+                .count());
+        assertEquals(1, meterRegistry.get("catalogue.client.bad.requests")
+                .tag("operation", "createProduct")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void updateProduct_VersionIsStale_RecordsConflict() {
+        doThrow(new ConflictException("catalogue.errors.product.conflict"))
+                .when(delegate).updateProduct(1, "Товар 1", "Описание товара 1", "\"1\"");
+
+        assertThrows(ConflictException.class,
+                () -> client.updateProduct(1, "Товар 1", "Описание товара 1", "\"1\""));
+
+        assertEquals(1, meterRegistry.get("catalogue.client.calls")
+                .tag("operation", "updateProduct")
+                .tag("outcome", "CONFLICT")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void streamAllProducts_RecordsWhenStreamIsClosed() {
+        doReturn(Stream.of(new Product(1, "Товар 1", "Описание товара 1"))).when(delegate).streamAllProducts(null);
+
+        try (var products = client.streamAllProducts(null)) {
+            assertEquals(1, products.count());
+            assertNull(meterRegistry.find("catalogue.client.calls").tag("operation", "streamAllProducts").timer());
+        }
+
+        assertEquals(1, meterRegistry.get("catalogue.client.calls")
+                .tag("operation", "streamAllProducts")
+                .tag("outcome", "SUCCESS")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void streamAllProducts_IterationFails_RecordsFailureWhenStreamIsClosed() {
+        doReturn(Stream.<Product>generate(() -> {
+            throw new CatalogueUnavailableException("catalogue.errors.unavailable");
+        })).when(delegate).streamAllProducts(null);
+
+        try (var products = client.streamAllProducts(null)) {
+            assertThrows(CatalogueUnavailableException.class, () -> products.iterator().next());
+        }
+
+        assertEquals(1, meterRegistry.get("catalogue.client.calls")
+                .tag("operation", "streamAllProducts")
+                .tag("outcome", "UNAVAILABLE")
+                .timer()
+                .count());
+        assertNull(meterRegistry.find("catalogue.client.calls").tag("outcome", "SUCCESS").timer());
+    }
+}
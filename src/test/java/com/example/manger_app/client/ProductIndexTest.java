@@ -0,0 +1,55 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProductIndexTest {
+    ProductIndex index = ProductIndex.of(List.of(
+            new Product(3, "Ноутбук", "Игровой ноутбук"),
+            new Product(1, "Товар 1", "Описание товара 1"),
+            new Product(2, "Смартфон", null),
+            new Product(4, "Товар 4", "Подставка для ноутбука")));
+
+    @Test
+    void search_FilterIsEmpty_ReturnsAllProductsOrderedById() {
+        assertEquals(List.of(1, 2, 3, 4), ids(index.search("", Integer.MIN_VALUE)));
+        assertEquals(List.of(1, 2, 3, 4), ids(index.search(null, Integer.MIN_VALUE)));
+    }
+
+    @Test
+    void search_FilterMatchesTitleOrDetails_ReturnsMatchingProductsIgnoringCase() {
+        assertEquals(List.of(3, 4), ids(index.search("НОУТБУК", Integer.MIN_VALUE)));
+        assertEquals(List.of(1, 4), ids(index.search("товар", Integer.MIN_VALUE)));
+    }
+
+    @Test
+    void search_FilterHasAllGramsButNotAsSubstring_ReturnsNothing() {
+        assertEquals(List.of(), ids(index.search("товар 1 товар 4", Integer.MIN_VALUE)));
+        assertEquals(List.of(), ids(index.search("планшет", Integer.MIN_VALUE)));
+    }
+
+    @Test
+    void search_FilterIsShorterThanGram_ScansProducts() {
+        assertEquals(List.of(3, 4), ids(index.search("УК", Integer.MIN_VALUE)));
+        assertEquals(List.of(1), ids(index.search(" 1", Integer.MIN_VALUE)));
+    }
+
+    @Test
+    void search_AfterIdIsGiven_ReturnsProductsWithGreaterIds() {
+        assertEquals(List.of(4), ids(index.search("ноутбук", 3)));
+        assertEquals(List.of(3, 4), ids(index.search("", 2)));
+        assertEquals(List.of(), ids(index.search("", 4)));
+    }
+
+    List<Integer> ids(PrimitiveIterator.OfInt positions) {
+        var ids = new ArrayList<Integer>();
+        positions.forEachRemaining((int position) -> ids.add(index.get(position).id()));
+        return ids;
+    }
+}
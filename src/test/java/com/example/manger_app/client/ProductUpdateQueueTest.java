@@ -0,0 +1,247 @@
+package com.example.manger_app.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ProductUpdateQueueTest {
+    @Mock
+    ProductsRestClient upstream;
+
+    @Mock
+    ScheduledExecutorService scheduler;
+
+    ProductUpdateQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new ProductUpdateQueue(scheduler, Duration.ofSeconds(5), 100, Duration.ofHours(1));
+        queue.start();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void update_EditsFollowWithinWindow_SendsFirstAndLatestEditOnly() {
+        doReturn(new ValidationResult.Valid<Void>(null)).when(upstream)
+                .tryUpdateProduct(eq(1), any(), any(), any());
+
+        assertEquals(new ValidationResult.Valid<Void>(null), queue.update(upstream, 1, "Товар", "Описание", null));
+        assertEquals(new ValidationResult.Valid<Void>(null), queue.update(upstream, 1, "Товар 1", "Описание", null));
+        assertEquals(new ValidationResult.Valid<Void>(null), queue.update(upstream, 1, "Товар 12", "Описание", null));
+        var flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(flush.capture(), eq(5000L), eq(TimeUnit.MILLISECONDS));
+        flush.getValue().run();
+
+        verify(upstream).tryUpdateProduct(1, "Товар", "Описание", null);
+        verify(upstream).tryUpdateProduct(1, "Товар 12", "Описание", null);
+        verifyNoMoreInteractions(upstream);
+        assertEquals(2, queue.getUpstreamUpdates());
+        assertEquals(1, queue.getQueuedUpdates());
+        assertEquals(1, queue.getCoalescedUpdates());
+        assertEquals(0, queue.getPendingUpdates());
+    }
+
+    @Test
+    void update_EditIsInvalid_ReturnsErrorsAndDoesNotQueueNextEdit() {
+        doReturn(new ValidationResult.Invalid<Void>(List.of("Ошибка 1"))).when(upstream)
+                .tryUpdateProduct(1, " ", null, null);
+        doReturn(new ValidationResult.Valid<Void>(null)).when(upstream)
+                .tryUpdateProduct(1, "Товар 1", null, null);
+
+        assertEquals(new ValidationResult.Invalid<Void>(List.of("Ошибка 1")),
+                queue.update(upstream, 1, " ", null, null));
+        assertEquals(new ValidationResult.Valid<Void>(null), queue.update(upstream, 1, "Товар 1", null, null));
+
+        verify(upstream).tryUpdateProduct(1, " ", null, null);
+        verify(upstream).tryUpdateProduct(1, "Товар 1", null, null);
+        assertEquals(0, queue.getQueuedUpdates());
+    }
+
+    @Test
+    void takeRejectedUpdate_QueuedEditIsRejected_ReturnsItOnceToItsAuthor() {
+        doReturn(new ValidationResult.Valid<Void>(null)).when(upstream)
+                .tryUpdateProduct(1, "Товар 1", null, null);
+        doReturn(new ValidationResult.Invalid<Void>(List.of("Ошибка 1"))).when(upstream)
+                .tryUpdateProduct(1, "Товар 0", null, null);
+        queue.update(upstream, 1, "Товар 1", null, null);
+        queue.update(upstream, 1, "Товар 0", null, null);
+
+        queue.flush(1);
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("other", "password"));
+        assertEquals(Optional.empty(), queue.takeRejectedUpdate(1));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+        assertEquals(Optional.of(new RejectedUpdate(1, "Товар 0", null, List.of("Ошибка 1"))),
+                queue.takeRejectedUpdate(1));
+        assertEquals(Optional.empty(), queue.takeRejectedUpdate(1));
+        assertEquals(1, queue.getFailedUpdates());
+    }
+
+    @Test
+    void update_AnotherUserEditsWithinWindow_SendsQueuedEditFirstAndAnotherUsersEditSynchronously() {
+        doReturn(new ValidationResult.Valid<Void>(null)).when(upstream)
+                .tryUpdateProduct(eq(1), any(), any(), eq("\"1\""));
+        doAnswer(invocation -> {
+            assertEquals("user", SecurityContextHolder.getContext().getAuthentication().getName());
+            return new ValidationResult.Valid<Void>(null);
+        }).when(upstream).tryUpdateProduct(1, "Товар 12", null, "\"2\"");
+        doReturn(new ValidationResult.Invalid<Void>(List.of("Товар был изменен"))).when(upstream)
+                .tryUpdateProduct(1, "Товар другого пользователя", null, "\"2\"");
+        queue.update(upstream, 1, "Товар 1", null, "\"1\"");
+        queue.update(upstream, 1, "Товар 12", null, "\"2\"");
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("other", "password"));
+        assertEquals(new ValidationResult.Invalid<Void>(List.of("Товар был изменен")),
+                queue.update(upstream, 1, "Товар другого пользователя", null, "\"2\""));
+
+        var inOrder = inOrder(upstream);
+        inOrder.verify(upstream).tryUpdateProduct(1, "Товар 1", null, "\"1\"");
+        inOrder.verify(upstream).tryUpdateProduct(1, "Товар 12", null, "\"2\"");
+        inOrder.verify(upstream).tryUpdateProduct(1, "Товар другого пользователя", null, "\"2\"");
+        assertEquals(0, queue.getPendingUpdates());
+        assertEquals(0, queue.getCoalescedUpdates());
+    }
+
+    @Test
+    void update_SameUserEditsAnotherVersion_SendsQueuedEditFirst() {
+        doReturn(new ValidationResult.Valid<Void>(null)).when(upstream)
+                .tryUpdateProduct(eq(1), any(), any(), any());
+        queue.update(upstream, 1, "Товар 1", null, "\"1\"");
+        queue.update(upstream, 1, "Товар 12", null, "\"2\"");
+
+        queue.update(upstream, 1, "Товар 123", null, "\"1\"");
+
+        var inOrder = inOrder(upstream);
+        inOrder.verify(upstream).tryUpdateProduct(1, "Товар 12", null, "\"2\"");
+        inOrder.verify(upstream).tryUpdateProduct(1, "Товар 123", null, "\"1\"");
+        assertEquals(3, queue.getUpstreamUpdates());
+        assertEquals(0, queue.getCoalescedUpdates());
+    }
+
+    @Test
+    void update_AnotherUserEditsAfterRejection_KeepsRejectionForItsAuthor() {
+        doReturn(new ValidationResult.Valid<Void>(null)).when(upstream)
+                .tryUpdateProduct(1, "Товар 1", null, null);
+        doReturn(new ValidationResult.Invalid<Void>(List.of("Ошибка 1"))).when(upstream)
+                .tryUpdateProduct(1, "Товар 0", null, null);
+        doReturn(new ValidationResult.Valid<Void>(null)).when(upstream)
+                .tryUpdateProduct(1, "Товар другого пользователя", null, null);
+        queue.update(upstream, 1, "Товар 1", null, null);
+        queue.update(upstream, 1, "Товар 0", null, null);
+        queue.flush(1);
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("other", "password"));
+        queue.update(upstream, 1, "Товар другого пользователя", null, null);
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+        assertEquals(Optional.of(new RejectedUpdate(1, "Товар 0", null, List.of("Ошибка 1"))),
+                queue.takeRejectedUpdate(1));
+    }
+
+    @Test
+    void update_EditFailsLocalLimits_SendsQueuedEditFirstAndReturnsCatalogueErrors() {
+        doReturn(new ValidationResult.Valid<Void>(null)).when(upstream)
+                .tryUpdateProduct(eq(1), any(), any(), any());
+        doReturn(new ValidationResult.Invalid<Void>(List.of("Название товара должно быть от 3 до 50 символов")))
+                .when(upstream).tryUpdateProduct(1, "Т", null, null);
+        queue.update(upstream, 1, "Товар 1", null, null);
+        queue.update(upstream, 1, "Товар 12", null, null);
+
+        assertEquals(new ValidationResult.Invalid<Void>(List.of("Название товара должно быть от 3 до 50 символов")),
+                queue.update(upstream, 1, "Т", null, null));
+
+        var inOrder = inOrder(upstream);
+        inOrder.verify(upstream).tryUpdateProduct(1, "Товар 12", null, null);
+        inOrder.verify(upstream).tryUpdateProduct(1, "Т", null, null);
+        assertEquals(0, queue.getPendingUpdates());
+    }
+
+    @Test
+    void flush_AnotherUserFlushesOnAnotherThread_SendsWithAccessTokenCapturedAtEnqueue() throws Exception {
+        var boundToken = new ThreadLocal<String>();
+        queue.setTaskDecorator(task -> {
+            String token = "token-of-" + SecurityContextHolder.getContext().getAuthentication().getName();
+            return () -> {
+                boundToken.set(token);
+                try {
+                    task.run();
+                } finally {
+                    boundToken.remove();
+                }
+            };
+        });
+        doReturn(new ValidationResult.Valid<Void>(null)).when(upstream)
+                .tryUpdateProduct(1, "Товар 1", null, null);
+        doAnswer(invocation -> {
+            assertEquals("token-of-user", boundToken.get());
+            return new ValidationResult.Valid<Void>(null);
+        }).when(upstream).tryUpdateProduct(1, "Товар 12", null, null);
+        queue.update(upstream, 1, "Товар 1", null, null);
+        queue.update(upstream, 1, "Товар 12", null, null);
+
+        var flush = new Thread(() -> {
+            SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("other", "password"));
+            queue.flush(1);
+        });
+        flush.start();
+        flush.join();
+
+        verify(upstream).tryUpdateProduct(1, "Товар 12", null, null);
+        assertEquals(0, queue.getFailedUpdates());
+    }
+
+    @Test
+    void stop_EditsAreQueued_SendsThemWithAuthorsSecurityContext() {
+        doReturn(new ValidationResult.Valid<Void>(null)).when(upstream)
+                .tryUpdateProduct(1, "Товар 1", null, null);
+        doReturn(new ValidationResult.Valid<Void>(null)).when(upstream)
+                .tryUpdateProduct(2, "Товар 2", null, null);
+        queue.update(upstream, 1, "Товар 1", null, null);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("editor", "password"));
+        queue.update(upstream, 2, "Товар 2", null, null);
+        queue.update(upstream, 2, "Товар 2 обновленный", null, null);
+        SecurityContextHolder.clearContext();
+        doAnswer(invocation -> {
+            assertEquals("editor", SecurityContextHolder.getContext().getAuthentication().getName());
+            return new ValidationResult.Valid<Void>(null);
+        }).when(upstream).tryUpdateProduct(2, "Товар 2 обновленный", null, null);
+
+        queue.stop();
+
+        verify(upstream).tryUpdateProduct(2, "Товар 2 обновленный", null, null);
+        verify(scheduler).shutdownNow();
+        verify(scheduler, times(2)).schedule(any(Runnable.class), anyLong(), any());
+        assertEquals(0, queue.getPendingUpdates());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
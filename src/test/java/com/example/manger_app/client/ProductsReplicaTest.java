@@ -0,0 +1,105 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class ProductsReplicaTest {
+    @Mock
+    ProductsRestClient upstream;
+
+    @Mock
+    ScheduledExecutorService scheduler;
+
+    ProductsReplica replica;
+
+    @BeforeEach
+    void setUp() {
+        replica = new ProductsReplica(upstream, scheduler, Duration.ofMinutes(5), Duration.ofMinutes(15));
+        replica.setClock(Clock.fixed(Instant.parse("2024-06-01T10:00:00Z"), ZoneOffset.UTC));
+        lenient().doAnswer(invocation -> Stream.of(
+                new Product(1, "Товар 1", "Описание товара 1"),
+                new Product(2, "Смартфон", "Описание смартфона"),
+                new Product(3, "Товар 3", "Описание товара 3")))
+                .when(upstream).streamAllProducts(null);
+    }
+
+    @Test
+    void findProducts_ReplicaIsNotSynced_ReturnsEmptyOptional() {
+        assertFalse(replica.isFresh());
+        assertEquals(Optional.empty(), replica.findProducts("товар", Integer.MIN_VALUE, 0, 10));
+    }
+
+    @Test
+    void findProducts_ReplicaIsSynced_ReturnsMatchingProductsPage() {
+        replica.sync();
+
+        assertTrue(replica.isFresh());
+        assertEquals(3, replica.getSize());
+        assertEquals(Optional.of(List.of(new Product(3, "Товар 3", "Описание товара 3"))),
+                replica.findProducts("товар", Integer.MIN_VALUE, 1, 10));
+        assertEquals(Optional.of(List.of(new Product(2, "Смартфон", "Описание смартфона"))),
+                replica.findProducts("", 1, 0, 1));
+    }
+
+    @Test
+    void findProducts_ReplicaIsStale_ReturnsEmptyOptional() {
+        replica.sync();
+        replica.setClock(Clock.fixed(Instant.parse("2024-06-01T10:16:00Z"), ZoneOffset.UTC));
+
+        assertFalse(replica.isFresh());
+        assertEquals(Optional.empty(), replica.findProducts("товар", Integer.MIN_VALUE, 0, 10));
+    }
+
+    @Test
+    void findProducts_ProductsChangedSinceSync_ReturnsRefreshedProducts() {
+        replica.sync();
+        doReturn(Optional.of(new Product(2, "Товар 2", "Описание товара 2"))).when(upstream).findProduct(2);
+        doReturn(Optional.empty()).when(upstream).findProduct(3);
+        doReturn(Optional.of(new Product(4, "Товар 4", "Описание товара 4"))).when(upstream).findProduct(4);
+
+        replica.refresh(2);
+        replica.refresh(3);
+        replica.refresh(4);
+
+        assertEquals(Optional.of(List.of(
+                        new Product(1, "Товар 1", "Описание товара 1"),
+                        new Product(2, "Товар 2", "Описание товара 2"),
+                        new Product(4, "Товар 4", "Описание товара 4"))),
+                replica.findProducts("товар", Integer.MIN_VALUE, 0, 10));
+    }
+
+    @Test
+    void sync_KeepsChangesMadeDuringSync() {
+        replica.sync();
+        doReturn(Optional.of(new Product(1, "Товар 1 обновленный", "Описание товара 1"))).when(upstream).findProduct(1);
+        replica.setClock(Clock.fixed(Instant.parse("2024-06-01T10:01:00Z"), ZoneOffset.UTC));
+        replica.refresh(1);
+
+        replica.sync();
+
+        assertEquals(Optional.of(List.of(new Product(1, "Товар 1 обновленный", "Описание товара 1"))),
+                replica.findProducts("товар", Integer.MIN_VALUE, 0, 1));
+        assertEquals(2, replica.getFullSyncs());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PublishingProductsRestClientTest {
+    @Mock
+    ProductsRestClient delegate;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    PublishingProductsRestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new PublishingProductsRestClient(delegate, eventPublisher);
+    }
+
+    @Test
+    void createProduct_PublishesProductChangedEventForNewProduct() {
+        doReturn(new Product(1, "Товар 1", "Описание товара 1")).when(delegate).createProduct("Товар 1", "Описание товара 1");
+
+        assertEquals(new Product(1, "Товар 1", "Описание товара 1"), client.createProduct("Товар 1", "Описание товара 1"));
+
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(1));
+    }
+
+    @Test
+    void updateProduct_PublishesProductChangedEvent() {
+        client.updateProduct(1, "Товар 1", "Описание товара 1", "\"1\"");
+
+        verify(delegate).updateProduct(1, "Товар 1", "Описание товара 1", "\"1\"");
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(1));
+    }
+
+    @Test
+    void deleteProduct_DelegateFails_StillPublishesProductChangedEvent() {
+        doThrow(new NoSuchElementException("catalogue.errors.product.not_found")).when(delegate).deleteProduct(1);
+
+        assertThrows(NoSuchElementException.class, () -> client.deleteProduct(1));
+
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(1));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import com.example.manger_app.entity.ProductsPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicatedProductsRestClientTest {
+    @Mock
+    ProductsRestClient delegate;
+
+    @Mock
+    ProductsReplica replica;
+
+    ReplicatedProductsRestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new ReplicatedProductsRestClient(delegate, replica);
+    }
+
+    @Test
+    void findProductsAfter_ReplicaIsFresh_ReturnsPageFromReplica() {
+        doReturn(Optional.of(List.of(
+                new Product(2, "Товар 2", "Описание товара 2"),
+                new Product(3, "Товар 3", "Описание товара 3"))))
+                .when(replica).findProducts("товар", 1, 0, 2);
+
+        assertEquals(new ProductsPage(List.of(new Product(2, "Товар 2", "Описание товара 2")), 1, true),
+                client.findProductsAfter("товар", 1, 1));
+
+        verifyNoInteractions(delegate);
+        assertEquals(1, client.getReplicaCalls());
+    }
+
+    @Test
+    void findProducts_ReplicaIsStale_DelegatesToUpstream() {
+        var page = new ProductsPage(List.of(new Product(1, "Товар 1", "Описание товара 1")), 10, false);
+        doReturn(Optional.empty()).when(replica).findProducts("товар", Integer.MIN_VALUE, 10, 11);
+        doReturn(page).when(delegate).findProducts("товар", 1, 10);
+
+        assertEquals(page, client.findProducts("товар", 1, 10));
+        assertEquals(1, client.getUpstreamCalls());
+    }
+}
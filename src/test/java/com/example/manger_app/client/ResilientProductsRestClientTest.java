@@ -0,0 +1,163 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ResilientProductsRestClientTest {
+    ProductsRestClient delegate = mock(ProductsRestClient.class);
+
+    CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .recordExceptions(ResourceAccessException.class, HttpServerErrorException.class)
+            .build());
+
+    BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+
+    ResilientProductsRestClient client = new ResilientProductsRestClient(delegate, circuitBreakers, bulkheads, 1000,
+            CoalescingProductsRestClient.Scope.PRINCIPAL);
+
+    MockHttpServletRequest request = new MockHttpServletRequest();
+
+    @BeforeEach
+    void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void findProduct_CatalogueFails_ReturnsLastKnownGoodProductMarkedStale() {
+        var product = new Product(1, "Товар 1", "Описание товара 1");
+        doReturn(Optional.of(product))
+                .doThrow(new ResourceAccessException("Read timed out"))
+                .when(delegate).findProduct(1);
+
+        assertEquals(Optional.of(product), client.findProduct(1));
+        assertNull(request.getAttribute(ResilientProductsRestClient.STALE_ATTRIBUTE));
+
+        assertEquals(Optional.of(product), client.findProduct(1));
+        assertEquals(true, request.getAttribute(ResilientProductsRestClient.STALE_ATTRIBUTE));
+    }
+
+    @Test
+    void findProduct_CatalogueFailsForAnotherUser_DoesNotServeFirstUsersProduct() {
+        var product = new Product(1, "Товар 1", "Описание товара 1");
+        doReturn(Optional.of(product))
+                .doThrow(new ResourceAccessException("Read timed out"))
+                .when(delegate).findProduct(1);
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+        assertEquals(Optional.of(product), client.findProduct(1));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("other", "password"));
+
+        assertThrows(CatalogueUnavailableException.class, () -> client.findProduct(1));
+    }
+
+    @Test
+    void findProduct_CatalogueFailsAndNothingIsKnown_ThrowsCatalogueUnavailableException() {
+        doThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "", null, null, null))
+                .when(delegate).findProduct(1);
+
+        assertThrows(CatalogueUnavailableException.class, () -> client.findProduct(1));
+    }
+
+    @Test
+    void updateProduct_CircuitIsOpen_FailsFastWithoutCallingCatalogue() {
+        circuitBreakers.circuitBreaker("updateProduct").transitionToOpenState();
+
+        var exception = assertThrows(CatalogueUnavailableException.class,
+                () -> client.updateProduct(1, "Товар 1", "Описание товара 1", "\"v1\""));
+
+        assertEquals("catalogue.errors.unavailable", exception.getMessage());
+        verify(delegate, never()).updateProduct(anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void deleteProduct_CatalogueKeepsFailing_OpensCircuit() {
+        doThrow(new ResourceAccessException("Connection refused")).when(delegate).deleteProduct(1, null);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(CatalogueUnavailableException.class, () -> client.deleteProduct(1));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakers.circuitBreaker("deleteProduct").getState());
+    }
+
+    @Test
+    void deleteProduct_ProductDoesNotExist_DoesNotCountAsFailure() {
+        doThrow(new NoSuchElementException("catalogue.errors.product.not_found")).when(delegate).deleteProduct(1, null);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(NoSuchElementException.class, () -> client.deleteProduct(1));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakers.circuitBreaker("deleteProduct").getState());
+    }
+
+    @Test
+    void createProduct_BulkheadIsFull_FailsFast() throws Exception {
+        var callStarted = new CountDownLatch(1);
+        var callReleased = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            callStarted.countDown();
+            callReleased.await(5, TimeUnit.SECONDS);
+            return new Product(1, "Товар 1", "Описание товара 1");
+        }).when(delegate).createProduct("Товар 1", "Описание товара 1");
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var firstCall = executor.submit(() -> client.createProduct("Товар 1", "Описание товара 1"));
+            assertTrue(callStarted.await(5, TimeUnit.SECONDS));
+
+            assertThrows(CatalogueUnavailableException.class,
+                    () -> client.createProduct("Товар 1", "Описание товара 1"));
+
+            callReleased.countDown();
+            assertEquals(new Product(1, "Товар 1", "Описание товара 1"), firstCall.get(5, TimeUnit.SECONDS));
+        }
+    }
+}
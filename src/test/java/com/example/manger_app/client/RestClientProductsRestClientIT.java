@@ -0,0 +1,296 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import com.example.manger_app.entity.ProductsPage;
+import com.example.manger_app.security.OAuthClientHttpRequestInterceptor;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Instant;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+@WireMockTest
+class RestClientProductsRestClientIT {
+    RestClientProductsRestClient client;
+
+    @BeforeEach
+    void setUp(WireMockRuntimeInfo wireMock) {
+        var authorizedClientManager = mock(OAuth2AuthorizedClientManager.class);
+        doReturn(new OAuth2AuthorizedClient(ClientRegistration.withRegistrationId("keycloak")
+                .clientId("manager-app")
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .tokenUri("http://localhost/token")
+                .build(), "user", new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "token",
+                Instant.now(), Instant.now().plusSeconds(300))))
+                .when(authorizedClientManager).authorize(any());
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+
+        client = new RestClientProductsRestClient(RestClient.builder()
+                .baseUrl(wireMock.getHttpBaseUrl())
+                .requestFactory(new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .build()))
+                .requestInterceptor(new OAuthClientHttpRequestInterceptor(authorizedClientManager, "keycloak"))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void findAllProducts_ResponseIsNotModified_ReturnsHeldProducts() {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products"))
+                .withQueryParam("filter", WireMock.equalTo("товар"))
+                .withHeader(HttpHeaders.IF_NONE_MATCH, WireMock.absent())
+                .willReturn(WireMock.ok("""
+                        [
+                            {"id": 1, "title": "Товар 1", "details": "Описание товара 1"},
+                            {"id": 2, "title": "Товар 2", "details": "Описание товара 2"}
+                        ]""")
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withHeader(HttpHeaders.ETAG, "\"v1\"")));
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products"))
+                .withQueryParam("filter", WireMock.equalTo("товар"))
+                .withHeader(HttpHeaders.IF_NONE_MATCH, WireMock.equalTo("\"v1\""))
+                .willReturn(WireMock.status(304)));
+
+        var products = List.of(
+                new Product(1, "Товар 1", "Описание товара 1"),
+                new Product(2, "Товар 2", "Описание товара 2"));
+
+        assertEquals(products, client.findAllProducts("товар"));
+        assertEquals(products, client.findAllProducts("товар"));
+
+        WireMock.verify(2, WireMock.getRequestedFor(WireMock.urlPathMatching("/catalogue-api/products"))
+                .withHeader(HttpHeaders.AUTHORIZATION, WireMock.equalTo("Bearer token")));
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlPathMatching("/catalogue-api/products"))
+                .withHeader(HttpHeaders.IF_NONE_MATCH, WireMock.equalTo("\"v1\"")));
+    }
+
+    @Test
+    void findProductsAfter_ResponseHasExtraProduct_ReturnsTrimmedPageWithNext() {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products"))
+                .withQueryParam("after", WireMock.equalTo("0"))
+                .withQueryParam("size", WireMock.equalTo("3"))
+                .willReturn(WireMock.okJson("""
+                        [
+                            {"id": 1, "title": "Товар 1", "details": "Описание товара 1"},
+                            {"id": 2, "title": "Товар 2", "details": "Описание товара 2"},
+                            {"id": 3, "title": "Товар 3", "details": "Описание товара 3"}
+                        ]""")));
+
+        assertEquals(new ProductsPage(List.of(
+                        new Product(1, "Товар 1", "Описание товара 1"),
+                        new Product(2, "Товар 2", "Описание товара 2")), 2, true),
+                client.findProductsAfter("товар", 0, 2));
+    }
+
+    @Test
+    void findProductsAfter_LastPageIsFull_ReturnsPageWithoutNext() {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products"))
+                .withQueryParam("after", WireMock.equalTo("0"))
+                .withQueryParam("size", WireMock.equalTo("3"))
+                .willReturn(WireMock.okJson("""
+                        [
+                            {"id": 1, "title": "Товар 1", "details": "Описание товара 1"},
+                            {"id": 2, "title": "Товар 2", "details": "Описание товара 2"}
+                        ]""")));
+
+        var page = client.findProductsAfter("товар", 0, 2);
+
+        assertEquals(2, page.products().size());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void streamAllProducts_ReturnsProductsFromResponse() {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products"))
+                .withQueryParam("filter", WireMock.equalTo("товар"))
+                .willReturn(WireMock.okJson("""
+                        [
+                            {"id": 1, "title": "Товар 1", "details": "Описание товара 1"},
+                            {"id": 2, "title": "Товар 2", "details": "Описание товара 2"}
+                        ]""")));
+
+        try (var products = client.streamAllProducts("товар")) {
+            assertEquals(List.of(
+                    new Product(1, "Товар 1", "Описание товара 1"),
+                    new Product(2, "Товар 2", "Описание товара 2")), products.toList());
+        }
+    }
+
+    @Test
+    void streamAllProducts_ResponseIsError_ThrowsException() {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products"))
+                .willReturn(WireMock.forbidden()));
+
+        assertThrows(HttpClientErrorException.Forbidden.class, () -> client.streamAllProducts("товар"));
+    }
+
+    @Test
+    void findProduct_ResponseIsNotModified_ReturnsHeldProduct() {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .withHeader(HttpHeaders.IF_MODIFIED_SINCE, WireMock.absent())
+                .willReturn(WireMock.okJson("""
+                        {"id": 1, "title": "Товар 1", "details": "Описание товара 1"}""")
+                        .withHeader(HttpHeaders.LAST_MODIFIED, "Wed, 21 Oct 2026 07:28:00 GMT")));
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .withHeader(HttpHeaders.IF_MODIFIED_SINCE, WireMock.equalTo("Wed, 21 Oct 2026 07:28:00 GMT"))
+                .willReturn(WireMock.status(304)));
+
+        assertEquals(Optional.of(new Product(1, "Товар 1", "Описание товара 1")), client.findProduct(1));
+        assertEquals(Optional.of(new Product(1, "Товар 1", "Описание товара 1")), client.findProduct(1));
+
+        WireMock.verify(2, WireMock.getRequestedFor(WireMock.urlPathMatching("/catalogue-api/products/1")));
+    }
+
+    @Test
+    void findProduct_ResponseHasNoValidators_SendsUnconditionalRequest() {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .willReturn(WireMock.okJson("""
+                        {"id": 1, "title": "Товар 1", "details": "Описание товара 1"}""")));
+
+        client.findProduct(1);
+        client.findProduct(1);
+
+        WireMock.verify(2, WireMock.getRequestedFor(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .withoutHeader(HttpHeaders.IF_NONE_MATCH)
+                .withoutHeader(HttpHeaders.IF_MODIFIED_SINCE));
+    }
+
+    @Test
+    void updateProduct_VersionIsKnown_SendsIfMatch() {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .willReturn(WireMock.okJson("""
+                        {"id": 1, "title": "Товар 1", "details": "Описание товара 1"}""")
+                        .withHeader(HttpHeaders.ETAG, "\"v1\"")));
+        WireMock.stubFor(WireMock.patch(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .withHeader(HttpHeaders.IF_MATCH, WireMock.equalTo("\"v1\""))
+                .willReturn(WireMock.noContent()));
+
+        client.updateProduct(1, "Товар 1", "Описание товара 1",
+                client.findVersionedProduct(1).orElseThrow().version());
+
+        WireMock.verify(1, WireMock.patchRequestedFor(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .withHeader(HttpHeaders.IF_MATCH, WireMock.equalTo("\"v1\"")));
+    }
+
+    @Test
+    void findVersionedProduct_ProductWasUpdated_ReturnsVersionOfNewResponse() {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .willReturn(WireMock.okJson("""
+                        {"id": 1, "title": "Товар 1", "details": "Описание товара 1"}""")
+                        .withHeader(HttpHeaders.ETAG, "\"v1\"")));
+        WireMock.stubFor(WireMock.patch(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .willReturn(WireMock.noContent()));
+
+        assertEquals(Optional.of(new VersionedProduct(new Product(1, "Товар 1", "Описание товара 1"), "\"v1\"")),
+                client.findVersionedProduct(1));
+        client.updateProduct(1, "Товар 1", "Описание товара 1", "\"v1\"");
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .willReturn(WireMock.okJson("""
+                        {"id": 1, "title": "Товар 1 обновленный", "details": "Описание товара 1"}""")
+                        .withHeader(HttpHeaders.ETAG, "\"v2\"")));
+
+        assertEquals(Optional.of(new VersionedProduct(
+                        new Product(1, "Товар 1 обновленный", "Описание товара 1"), "\"v2\"")),
+                client.findVersionedProduct(1));
+    }
+
+    @Test
+    void findVersionedProduct_ETagIsWeak_ReturnsProductWithoutVersion() {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .willReturn(WireMock.okJson("""
+                        {"id": 1, "title": "Товар 1", "details": "Описание товара 1"}""")
+                        .withHeader(HttpHeaders.ETAG, "W/\"v1\"")));
+
+        assertEquals(Optional.of(new VersionedProduct(new Product(1, "Товар 1", "Описание товара 1"), null)),
+                client.findVersionedProduct(1));
+        assertThrows(IllegalArgumentException.class,
+                () -> client.updateProduct(1, "Товар 1", "Описание товара 1", "W/\"v1\""));
+        WireMock.verify(0, WireMock.patchRequestedFor(WireMock.urlPathMatching("/catalogue-api/products/1")));
+    }
+
+    @Test
+    void updateProduct_VersionIsOutdated_ThrowsConflictException() {
+        WireMock.stubFor(WireMock.patch(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .willReturn(WireMock.status(412)));
+
+        var exception = assertThrows(ConflictException.class,
+                () -> client.updateProduct(1, "Товар 1", "Описание товара 1", "\"v1\""));
+
+        assertEquals("catalogue.errors.product.conflict", exception.getMessage());
+    }
+
+    @Test
+    void tryCreateProduct_RequestIsInvalid_ReturnsErrors() {
+        WireMock.stubFor(WireMock.post(WireMock.urlPathMatching("/catalogue-api/products"))
+                .willReturn(WireMock.badRequest()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_PROBLEM_JSON_VALUE)
+                        .withBody("""
+                                {"errors": ["Ошибка 1", "Ошибка 2"]}""")));
+
+        assertEquals(new ValidationResult.Invalid<Product>(List.of("Ошибка 1", "Ошибка 2")),
+                client.tryCreateProduct(" ", null));
+        assertEquals(List.of("Ошибка 1", "Ошибка 2"),
+                assertThrows(BadRequestException.class, () -> client.createProduct(" ", null)).getErrors());
+    }
+
+    @Test
+    void tryUpdateProduct_RequestIsValid_ReturnsValid() {
+        WireMock.stubFor(WireMock.patch(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .willReturn(WireMock.noContent()));
+
+        assertEquals(new ValidationResult.Valid<Void>(null),
+                client.tryUpdateProduct(1, "Товар 1", "Описание товара 1", null));
+    }
+
+    @Test
+    void tryUpdateProduct_ProductDoesNotExist_ThrowsNoSuchElementException() {
+        WireMock.stubFor(WireMock.patch(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .willReturn(WireMock.notFound()));
+
+        assertThrows(NoSuchElementException.class,
+                () -> client.tryUpdateProduct(1, "Товар 1", "Описание товара 1", null));
+    }
+
+    @Test
+    void deleteProduct_ProductDoesNotExist_ThrowsNoSuchElementException() {
+        WireMock.stubFor(WireMock.delete(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .willReturn(WireMock.notFound()));
+
+        var exception = assertThrows(NoSuchElementException.class, () -> client.deleteProduct(1, null));
+
+        assertEquals("catalogue.errors.product.not_found", exception.getMessage());
+        WireMock.verify(WireMock.deleteRequestedFor(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .withoutHeader(HttpHeaders.IF_MATCH));
+    }
+}
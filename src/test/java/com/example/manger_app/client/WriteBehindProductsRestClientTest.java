@@ -0,0 +1,63 @@
+package com.example.manger_app.client;
+
+import com.example.manger_app.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindProductsRestClientTest {
+    @Mock
+    ProductsRestClient delegate;
+
+    @Mock
+    ScheduledExecutorService scheduler;
+
+    WriteBehindProductsRestClient client;
+
+    @BeforeEach
+    void setUp() {
+        var queue = new ProductUpdateQueue(scheduler, Duration.ofSeconds(5), 100, Duration.ofHours(1));
+        queue.start();
+        client = new WriteBehindProductsRestClient(delegate, queue);
+        doReturn(new ValidationResult.Valid<Void>(null)).when(delegate)
+                .tryUpdateProduct(eq(1), any(), any(), any());
+    }
+
+    @Test
+    void findProduct_EditIsQueued_ReturnsQueuedEdit() {
+        doReturn(Optional.of(new Product(1, "Товар 1", "Описание товара 1"))).when(delegate).findProduct(1);
+        client.tryUpdateProduct(1, "Товар 1", "Описание товара 1", null);
+        client.tryUpdateProduct(1, "Товар 1 обновленный", "Описание товара 1", null);
+
+        assertEquals(Optional.of(new Product(1, "Товар 1 обновленный", "Описание товара 1")),
+                client.findProduct(1));
+    }
+
+    @Test
+    void deleteProduct_EditIsQueued_SendsEditBeforeDeleting() {
+        client.tryUpdateProduct(1, "Товар 1", "Описание товара 1", null);
+        client.tryUpdateProduct(1, "Товар 1 обновленный", "Описание товара 1", null);
+
+        client.deleteProduct(1, "\"v2\"");
+
+        InOrder inOrder = inOrder(delegate);
+        inOrder.verify(delegate).tryUpdateProduct(1, "Товар 1", "Описание товара 1", null);
+        inOrder.verify(delegate).tryUpdateProduct(1, "Товар 1 обновленный", "Описание товара 1", null);
+        inOrder.verify(delegate).deleteProduct(1, "\"v2\"");
+        inOrder.verifyNoMoreInteractions();
+    }
+}
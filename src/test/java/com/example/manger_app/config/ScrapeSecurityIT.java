@@ -0,0 +1,53 @@
+package com.example.manger_app.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=health,prometheus",
+        "management.prometheus.scrape.username=prometheus",
+        "management.prometheus.scrape.password={noop}scrape-secret"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class})
+class ScrapeSecurityIT {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void scrape_NoCredentials_ReturnsUnauthorized() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void scrape_WrongPassword_ReturnsUnauthorized() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus")
+                        .with(httpBasic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void scrape_ScrapeCredentials_ReturnsMetrics() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus")
+                        .with(httpBasic("prometheus", "scrape-secret")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void health_NoCredentials_ReturnsHealth() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
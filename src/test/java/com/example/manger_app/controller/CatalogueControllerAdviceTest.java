@@ -0,0 +1,45 @@
+package com.example.manger_app.controller;
+
+import com.example.manger_app.client.CatalogueUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.ui.ConcurrentModel;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogueControllerAdviceTest {
+    @Mock
+    MessageSource messageSource;
+
+    @InjectMocks
+    CatalogueControllerAdvice controllerAdvice;
+
+    @Test
+    void handleCatalogueUnavailableException_Returns503ErrorPage() {
+        var exception = new CatalogueUnavailableException("catalogue.errors.unavailable");
+        var model = new ConcurrentModel();
+        var response = new MockHttpServletResponse();
+        var locale = Locale.of("ru");
+
+        doReturn("Каталог временно недоступен").when(messageSource).getMessage("catalogue.errors.unavailable",
+                new Object[0], "catalogue.errors.unavailable", locale);
+
+        var result = controllerAdvice.handleCatalogueUnavailableException(exception, model, response, locale);
+
+        assertEquals("errors/503", result);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatus());
+        assertEquals("10", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("Каталог временно недоступен", model.getAttribute("error"));
+    }
+}
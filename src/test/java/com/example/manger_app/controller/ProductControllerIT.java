@@ -2,6 +2,7 @@ package com.example.manger_app.controller;
 
 import com.example.manger_app.controller.payload.UpdateProductPayload;
 import com.example.manger_app.entity.Product;
+import com.example.manger_app.timing.ServerTiming;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
 import org.junit.jupiter.api.Test;
@@ -17,6 +18,8 @@ import org.springframework.http.MediaType;
 
 import java.util.List;
 
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -53,6 +56,28 @@ public class ProductControllerIT {
                 );
     }
 
+    @Test
+    void getProductPage_ProductExists_ReturnsServerTimingHeader() throws Exception {
+        var request = MockMvcRequestBuilders.get("/catalogue/products/1")
+                .with(user("user").roles("MANAGER"));
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products/1"))
+                .willReturn(WireMock.okJson("""
+                        {
+                            "id": 1,
+                            "title": "Товар 1",
+                            "details": "Описание товара 1"
+                        }""")));
+
+        mockMvc.perform(request)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        header().string(ServerTiming.HEADER,
+                                allOf(containsString("render;dur="), containsString("total;dur=")))
+                );
+    }
+
     @Test
     void getProductPage_ProductDoesNotExists_ReturnsError404Page() throws Exception {
         var request = MockMvcRequestBuilders.get("/catalogue/products/1")
@@ -138,14 +163,6 @@ public class ProductControllerIT {
                 .with(user("user").roles("MANAGER"))
                 .with(csrf());
 
-        WireMock.stubFor(WireMock.get("/catalogue-api/products/1")
-                .willReturn(WireMock.okJson("""
-                        {
-                            "id": 1,
-                            "title": "Товар 1",
-                            "details": "Описание товара 1"
-                        }""")));
-
         WireMock.stubFor(WireMock.patch("/catalogue-api/products/1")
                 .withRequestBody(WireMock.equalToJson("""
                         {
@@ -161,6 +178,7 @@ public class ProductControllerIT {
                         redirectedUrl("/catalogue/products/1")
                 );
 
+        WireMock.verify(0, WireMock.getRequestedFor(WireMock.urlPathMatching("/catalogue-api/products/1")));
         WireMock.verify(WireMock.patchRequestedFor(WireMock.urlPathMatching("/catalogue-api/products/1"))
                 .withRequestBody(WireMock.equalToJson("""
                         {
@@ -224,7 +242,7 @@ public class ProductControllerIT {
                 .with(user("user").roles("MANAGER"))
                 .with(csrf());
 
-        WireMock.stubFor(WireMock.get("/catalogue-api/products/1")
+        WireMock.stubFor(WireMock.patch("/catalogue-api/products/1")
                 .willReturn(WireMock.notFound()));
 
         mockMvc.perform(request)
@@ -236,6 +254,40 @@ public class ProductControllerIT {
                 );
     }
 
+    @Test
+    void updateProduct_VersionIsOutdated_ReturnsProductEditPageWithConflict() throws Exception {
+        var request = MockMvcRequestBuilders.post("/catalogue/products/1/edit")
+                .param("version", "\"v1\"")
+                .param("title", "Новое название")
+                .param("details", "Новое описание товара")
+                .with(user("user").roles("MANAGER"))
+                .with(csrf());
+
+        WireMock.stubFor(WireMock.patch("/catalogue-api/products/1")
+                .withHeader(HttpHeaders.IF_MATCH, WireMock.equalTo("\"v1\""))
+                .willReturn(WireMock.status(412)));
+        WireMock.stubFor(WireMock.get("/catalogue-api/products/1")
+                .willReturn(WireMock.okJson("""
+                        {
+                            "id": 1,
+                            "title": "Товар",
+                            "details": "Описание товара"
+                        }""")
+                        .withHeader(HttpHeaders.ETAG, "\"v2\"")));
+
+        mockMvc.perform(request)
+                .andDo(print())
+                .andExpectAll(
+                        status().isConflict(),
+                        view().name("catalogue/products/edit"),
+                        model().attribute("product", new Product(1, "Товар", "Описание товара")),
+                        model().attribute("version", "\"v2\""),
+                        model().attribute("errors", List.of(
+                                "Товар был изменён другим пользователем, проверьте актуальные данные и повторите попытку")),
+                        model().attribute("payload", new UpdateProductPayload("Новое название", "Новое описание товара"))
+                );
+    }
+
     @Test
     void updateProduct_UserIsNotAuthorized_ReturnsForbidden() throws Exception {
         var request = MockMvcRequestBuilders.post("/catalogue/products/1/edit")
@@ -252,19 +304,12 @@ public class ProductControllerIT {
     @Test
     void deleteProduct_ProductExists_RedirectsToProductsListPage() throws Exception {
         var request = MockMvcRequestBuilders.post("/catalogue/products/1/delete")
+                .param("version", "\"v1\"")
                 .with(user("user").roles("MANAGER"))
                 .with(csrf());
 
-        WireMock.stubFor(WireMock.get("/catalogue-api/products/1")
-                .willReturn(WireMock.okJson("""
-                        {
-                            "id": 1,
-                            "title": "Товар",
-                            "details": "Описание товара"
-                        }
-                        """)));
-
         WireMock.stubFor(WireMock.delete("/catalogue-api/products/1")
+                .withHeader(HttpHeaders.IF_MATCH, WireMock.equalTo("\"v1\""))
                 .willReturn(WireMock.noContent()));
 
         mockMvc.perform(request)
@@ -274,6 +319,7 @@ public class ProductControllerIT {
                         redirectedUrl("/catalogue/products/list")
                 );
 
+        WireMock.verify(0, WireMock.getRequestedFor(WireMock.urlPathMatching("/catalogue-api/products/1")));
         WireMock.verify(WireMock.deleteRequestedFor(WireMock.urlPathMatching("/catalogue-api/products/1")));
     }
 
@@ -283,7 +329,7 @@ public class ProductControllerIT {
                 .with(user("user").roles("MANAGER"))
                 .with(csrf());
 
-        WireMock.stubFor(WireMock.get("/catalogue-api/products/1")
+        WireMock.stubFor(WireMock.delete("/catalogue-api/products/1")
                 .willReturn(WireMock.notFound()));
 
         mockMvc.perform(request)
@@ -1,7 +1,10 @@
 package com.example.manger_app.controller;
 
-import com.example.manger_app.client.BadRequestException;
+import com.example.manger_app.client.ConflictException;
 import com.example.manger_app.client.ProductsRestClient;
+import com.example.manger_app.client.RejectedUpdate;
+import com.example.manger_app.client.ValidationResult;
+import com.example.manger_app.client.VersionedProduct;
 import com.example.manger_app.controller.payload.UpdateProductPayload;
 import com.example.manger_app.entity.Product;
 import org.junit.jupiter.api.Test;
@@ -10,9 +13,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.ui.ConcurrentModel;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.Locale;
@@ -20,6 +26,7 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -35,99 +42,204 @@ public class ProductControllerTest {
     @InjectMocks
     ProductController productController;
 
+    ServletWebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+
     @Test
-    void product_ProductExist_ReturnProduct() {
+    void getProductPage_ProductExists_ReturnsProductPageWithVersion() {
         var product = new Product(1, "Название товара №1", "Описание товара #1");
+        var model = new ConcurrentModel();
 
-        doReturn(Optional.of(product)).when(productsRestClient).findProduct(1);
+        doReturn(Optional.of(new VersionedProduct(product, "\"v1\""))).when(productsRestClient)
+                .findVersionedProduct(1);
 
-        var result = productController.product(1);
+        var result = productController.getProductPage(1, model, webRequest);
 
-        assertEquals(product, result);
+        assertEquals("catalogue/products/product", result);
+        assertEquals(product, model.getAttribute("product"));
+        assertEquals("\"v1\"", model.getAttribute("version"));
 
-        verify(productsRestClient).findProduct(1);
+        verify(productsRestClient).findVersionedProduct(1);
+        verify(productsRestClient).takeRejectedUpdate(1);
         verifyNoMoreInteractions(productsRestClient);
     }
 
     @Test
-    void product_ProductDoesNotExist_ThrowsNoSuchElementException() {
-        var exception = assertThrows(NoSuchElementException.class, () -> productController.product(1));
+    void getProductPage_ProductIsNotModified_ReturnsNotModifiedWithoutView() {
+        var product = new Product(1, "Название товара №1", "Описание товара #1");
+        doReturn(Optional.of(new VersionedProduct(product, "\"v1\""))).when(productsRestClient)
+                .findVersionedProduct(1);
+        var firstResponse = new MockHttpServletResponse();
+        productController.getProductPage(1, new ConcurrentModel(), new ServletWebRequest(
+                new MockHttpServletRequest("GET", "/catalogue/products/1"), firstResponse));
+        var eTag = firstResponse.getHeader(HttpHeaders.ETAG);
+
+        var request = new MockHttpServletRequest("GET", "/catalogue/products/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+        var response = new MockHttpServletResponse();
+        var result = productController.getProductPage(1, new ConcurrentModel(),
+                new ServletWebRequest(request, response));
+
+        assertNull(result);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals("no-cache, private", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void getProductPage_ProductDoesNotExist_ThrowsNoSuchElementException() {
+        var model = new ConcurrentModel();
+
+        var exception = assertThrows(NoSuchElementException.class,
+                () -> productController.getProductPage(1, model, webRequest));
 
         assertEquals("catalogue.errors.product.not_found", exception.getMessage());
 
-        verify(productsRestClient).findProduct(1);
+        verify(productsRestClient).findVersionedProduct(1);
         verifyNoMoreInteractions(productsRestClient);
     }
 
     @Test
-    void getProductPage_ReturnsProductPage() {
-        var result = productController.getProductPage();
+    void getProductEditPage_ProductExists_ReturnsProductEditPage() {
+        var product = new Product(1, "Название товара №1", "Описание товара #1");
+        var model = new ConcurrentModel();
 
-        assertEquals("catalogue/products/product", result);
+        doReturn(Optional.of(new VersionedProduct(product, null))).when(productsRestClient).findVersionedProduct(1);
 
-        verifyNoMoreInteractions(productsRestClient);
+        var result = productController.getProductEditPage(1, model, Locale.of("ru"));
+
+        assertEquals("catalogue/products/edit", result);
+        assertEquals(product, model.getAttribute("product"));
+        assertNull(model.getAttribute("version"));
     }
 
     @Test
-    void getProductEditPage_ReturnsProductEditPage() {
-        var result = productController.getProductEditPage();
+    void getProductEditPage_QueuedUpdateWasRejected_ReturnsEditPageWithRejectedUpdate() {
+        var product = new Product(1, "Товар 1", "Описание товара 1");
+        var model = new ConcurrentModel();
 
-        assertEquals("catalogue/products/edit", result);
+        doReturn(Optional.of(new VersionedProduct(product, "\"v1\""))).when(productsRestClient)
+                .findVersionedProduct(1);
+        doReturn(Optional.of(new RejectedUpdate(1, " ", null,
+                List.of("Ошибка 1", "catalogue.errors.product.conflict"))))
+                .when(productsRestClient).takeRejectedUpdate(1);
+        doReturn("Ошибка 1").when(messageSource).getMessage("Ошибка 1", new Object[0], "Ошибка 1",
+                Locale.of("ru"));
+        doReturn("Товар был изменён").when(messageSource).getMessage("catalogue.errors.product.conflict",
+                new Object[0], "catalogue.errors.product.conflict", Locale.of("ru"));
 
-        verifyNoMoreInteractions(productsRestClient);
+        var result = productController.getProductEditPage(1, model, Locale.of("ru"));
+
+        assertEquals("catalogue/products/edit", result);
+        assertEquals(product, model.getAttribute("product"));
+        assertEquals(new UpdateProductPayload(" ", null), model.getAttribute("payload"));
+        assertEquals(List.of("Ошибка 1", "Товар был изменён"), model.getAttribute("errors"));
     }
 
     @Test
-    void updateProduct_RequestIsValid_RedirectsToProductPage() {
-        var product = new Product(1, "Товар 1", "Описание товара 1");
+    void updateProduct_RequestIsValid_RedirectsToProductPageWithoutReadingProduct() {
         var payload = new UpdateProductPayload("Товар 1 обновленный",
                 "Описание товара 1 обновленное");
         var model = new ConcurrentModel();
         var response = new MockHttpServletResponse();
 
-        var result = productController.updateProduct(product, payload, model, response);
+        doReturn(new ValidationResult.Valid<Void>(null))
+                .when(productsRestClient)
+                .tryUpdateProduct(1, "Товар 1 обновленный", "Описание товара 1 обновленное", "\"v1\"");
+
+        var result = productController.updateProduct(1, "\"v1\"", payload, model, response, Locale.of("ru"));
 
         assertEquals("redirect:/catalogue/products/1", result);
 
-        verify(productsRestClient).updateProduct(1, "Товар 1 обновленный",
-                "Описание товара 1 обновленное");
+        verify(productsRestClient).tryUpdateProduct(1, "Товар 1 обновленный",
+                "Описание товара 1 обновленное", "\"v1\"");
         verifyNoMoreInteractions(productsRestClient);
     }
 
     @Test
-    void updateProduct_RequestIsInvalid_RedirectsToProductPage() {
+    void updateProduct_RequestIsInvalid_ReturnsProductEditPage() {
         var product = new Product(1, "Товар 1", "Описание товара 1");
         var payload = new UpdateProductPayload(" ", null);
         var model = new ConcurrentModel();
         var response = new MockHttpServletResponse();
 
-        doThrow(new BadRequestException(List.of("Ошибка 1", "Ошибка 2")))
+        doReturn(new ValidationResult.Invalid<Void>(List.of("Ошибка 1", "Ошибка 2")))
                 .when(productsRestClient)
-                .updateProduct(1, " ", null);
+                .tryUpdateProduct(1, " ", null, "\"v1\"");
+        doReturn(Optional.of(product)).when(productsRestClient).findProduct(1);
 
-        var result = productController.updateProduct(product, payload, model, response);
+        var result = productController.updateProduct(1, "\"v1\"", payload, model, response, Locale.of("ru"));
 
         assertEquals("catalogue/products/edit", result);
+        assertEquals(product, model.getAttribute("product"));
+        assertEquals("\"v1\"", model.getAttribute("version"));
         assertEquals(payload, model.getAttribute("payload"));
         assertEquals(List.of("Ошибка 1", "Ошибка 2"), model.getAttribute("errors"));
         assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatus());
 
-        verify(productsRestClient).updateProduct(1, " ", null);
+        verify(productsRestClient).tryUpdateProduct(1, " ", null, "\"v1\"");
+        verify(productsRestClient).findProduct(1);
         verifyNoMoreInteractions(productsRestClient);
     }
 
     @Test
-    void deleteProduct_RedirectsToProductsListPage() {
-        var product = new Product(1, "Товар 1", "Описание товара 1");
+    void updateProduct_VersionIsOutdated_ReturnsProductEditPageWithCurrentVersion() {
+        var product = new Product(1, "Товар 1 изменённый", "Описание товара 1");
+        var payload = new UpdateProductPayload("Товар 1 обновленный", "Описание товара 1");
+        var model = new ConcurrentModel();
+        var response = new MockHttpServletResponse();
 
-        var result = productController.deleteProduct(product);
+        doThrow(new ConflictException("catalogue.errors.product.conflict"))
+                .when(productsRestClient)
+                .tryUpdateProduct(1, "Товар 1 обновленный", "Описание товара 1", "\"v1\"");
+        doReturn(Optional.of(new VersionedProduct(product, "\"v2\""))).when(productsRestClient)
+                .findVersionedProduct(1);
+        doReturn("Товар был изменён").when(messageSource).getMessage("catalogue.errors.product.conflict",
+                new Object[0], "catalogue.errors.product.conflict", Locale.of("ru"));
+
+        var result = productController.updateProduct(1, "\"v1\"", payload, model, response, Locale.of("ru"));
+
+        assertEquals("catalogue/products/edit", result);
+        assertEquals(product, model.getAttribute("product"));
+        assertEquals("\"v2\"", model.getAttribute("version"));
+        assertEquals(payload, model.getAttribute("payload"));
+        assertEquals(List.of("Товар был изменён"), model.getAttribute("errors"));
+        assertEquals(HttpStatus.CONFLICT.value(), response.getStatus());
+    }
+
+    @Test
+    void deleteProduct_RedirectsToProductsListPageWithoutReadingProduct() {
+        var model = new ConcurrentModel();
+        var response = new MockHttpServletResponse();
+
+        var result = productController.deleteProduct(1, "\"v1\"", model, response, Locale.of("ru"));
 
         assertEquals("redirect:/catalogue/products/list", result);
 
-        verify(productsRestClient).deleteProduct(1);
+        verify(productsRestClient).deleteProduct(1, "\"v1\"");
         verifyNoMoreInteractions(productsRestClient);
     }
 
+    @Test
+    void deleteProduct_VersionIsOutdated_ReturnsProductPage() {
+        var product = new Product(1, "Товар 1 изменённый", "Описание товара 1");
+        var model = new ConcurrentModel();
+        var response = new MockHttpServletResponse();
+
+        doThrow(new ConflictException("catalogue.errors.product.conflict"))
+                .when(productsRestClient).deleteProduct(1, "\"v1\"");
+        doReturn(Optional.of(new VersionedProduct(product, "\"v2\""))).when(productsRestClient)
+                .findVersionedProduct(1);
+        doReturn("Товар был изменён").when(messageSource).getMessage("catalogue.errors.product.conflict",
+                new Object[0], "catalogue.errors.product.conflict", Locale.of("ru"));
+
+        var result = productController.deleteProduct(1, "\"v1\"", model, response, Locale.of("ru"));
+
+        assertEquals("catalogue/products/product", result);
+        assertEquals(product, model.getAttribute("product"));
+        assertEquals("\"v2\"", model.getAttribute("version"));
+        assertEquals(List.of("Товар был изменён"), model.getAttribute("errors"));
+        assertEquals(HttpStatus.CONFLICT.value(), response.getStatus());
+    }
+
     @Test
     void handleNoSuchElementException_Returns404ErrorPage() {
         var exception = new NoSuchElementException("error");
@@ -0,0 +1,91 @@
+package com.example.manger_app.controller;
+
+import com.example.manger_app.client.ProductChangedEvent;
+import com.example.manger_app.entity.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.IContext;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ProductFragmentCacheTest {
+    ITemplateEngine templateEngine = mock(ITemplateEngine.class);
+
+    ProductFragmentCache cache = new ProductFragmentCache(templateEngine, 10_000);
+
+    @BeforeEach
+    void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(),
+                new MockHttpServletResponse()));
+        doAnswer(invocation -> "<tr>%s</tr>".formatted(
+                ((Product) invocation.getArgument(2, IContext.class).getVariable("product")).title()))
+                .when(templateEngine).process(eq("catalogue/products/fragments"), eq(Set.of("row")), any(IContext.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void render_ProductIsUnchanged_ReturnsCachedFragment() {
+        var product = new Product(1, "Товар 1", "Описание товара 1");
+
+        assertEquals("<tr>Товар 1</tr>", cache.render("catalogue/products/fragments", "row", product));
+        assertEquals("<tr>Товар 1</tr>", cache.render("catalogue/products/fragments", "row",
+                new Product(1, "Товар 1", "Описание товара 1")));
+
+        verify(templateEngine, times(1)).process(any(String.class), any(), any(IContext.class));
+    }
+
+    @Test
+    void render_ProductContentChanged_RendersAgain() {
+        cache.render("catalogue/products/fragments", "row", new Product(1, "Товар 1", "Описание товара 1"));
+
+        assertEquals("<tr>Товар 1 обновленный</tr>", cache.render("catalogue/products/fragments", "row",
+                new Product(1, "Товар 1 обновленный", "Описание товара 1")));
+
+        verify(templateEngine, times(2)).process(any(String.class), any(), any(IContext.class));
+    }
+
+    @Test
+    void onProductChanged_EvictsFragmentsOfProduct() {
+        var product = new Product(1, "Товар 1", "Описание товара 1");
+        cache.render("catalogue/products/fragments", "row", product);
+        cache.render("catalogue/products/fragments", "row", new Product(2, "Товар 2", "Описание товара 2"));
+
+        cache.onProductChanged(new ProductChangedEvent(1));
+
+        assertEquals(1, cache.getCache().estimatedSize());
+        cache.render("catalogue/products/fragments", "row", product);
+        verify(templateEngine, times(3)).process(any(String.class), any(), any(IContext.class));
+    }
+
+    @Test
+    void render_AnotherFragmentOfSameProduct_KeepsBothFragments() {
+        var product = new Product(1, "Товар 1", "Описание товара 1");
+        doAnswer(invocation -> "<td>Товар 1</td>")
+                .when(templateEngine).process(eq("catalogue/products/fragments"), eq(Set.of("cell")), any(IContext.class));
+
+        cache.render("catalogue/products/fragments", "row", product);
+        cache.render("catalogue/products/fragments", "cell", product);
+
+        assertEquals("<tr>Товар 1</tr>", cache.render("catalogue/products/fragments", "row", product));
+        assertEquals("<td>Товар 1</td>", cache.render("catalogue/products/fragments", "cell", product));
+        verify(templateEngine, times(2)).process(any(String.class), any(), any(IContext.class));
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.manger_app.controller;
+
+import com.example.manger_app.client.ProductChangedEvent;
+import com.example.manger_app.client.ProductsRestClient;
+import com.example.manger_app.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSuggestionsTest {
+    @Mock
+    ProductsRestClient productsRestClient;
+
+    List<Runnable> deferredTasks = new ArrayList<>();
+
+    boolean deferTasks;
+
+    ProductSuggestions suggestions;
+
+    @BeforeEach
+    void setUp() {
+        suggestions = new ProductSuggestions(productsRestClient, task -> {
+            if (deferTasks) {
+                deferredTasks.add(task);
+            } else {
+                task.run();
+            }
+        }, Duration.ofMinutes(5));
+        suggestions.setClock(Clock.fixed(Instant.parse("2024-06-01T10:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    void suggest_PrefixMatchesTitleWords_ReturnsSuggestionsFoldingCase() {
+        stubProducts();
+
+        assertEquals(List.of(
+                        new ProductSuggestions.Suggestion(3, "Новогодняя ёлка"),
+                        new ProductSuggestions.Suggestion(2, "Ёлочная игрушка")),
+                suggestions.suggest("ЕЛ", 10));
+        assertEquals(List.of(new ProductSuggestions.Suggestion(1, "Игровой ноутбук")),
+                suggestions.suggest("ноут", 10));
+        assertEquals(List.of(new ProductSuggestions.Suggestion(1, "Игровой ноутбук")),
+                suggestions.suggest("иг", 1));
+    }
+
+    @Test
+    void suggest_PrefixIsBlank_ReturnsNothingWithoutLoading() {
+        assertEquals(List.of(), suggestions.suggest(" ", 10));
+
+        verifyNoInteractions(productsRestClient);
+    }
+
+    @Test
+    void onProductChanged_UpdatesSuggestionsIncrementally() {
+        stubProducts();
+        suggestions.suggest("ноут", 10);
+        doReturn(Optional.of(new Product(1, "Игровой планшет", null))).when(productsRestClient).findProduct(1);
+        doReturn(Optional.empty()).when(productsRestClient).findProduct(2);
+        doReturn(Optional.of(new Product(4, "Ноутбук для работы", null))).when(productsRestClient).findProduct(4);
+
+        suggestions.onProductChanged(new ProductChangedEvent(1));
+        suggestions.onProductChanged(new ProductChangedEvent(2));
+        suggestions.onProductChanged(new ProductChangedEvent(4));
+
+        assertEquals(List.of(new ProductSuggestions.Suggestion(4, "Ноутбук для работы")),
+                suggestions.suggest("ноут", 10));
+        assertEquals(List.of(new ProductSuggestions.Suggestion(1, "Игровой планшет")),
+                suggestions.suggest("и", 10));
+        verify(productsRestClient).streamAllProducts(null);
+    }
+
+    @Test
+    void onProductChanged_RefreshesProductInBackground() {
+        stubProducts();
+        suggestions.suggest("ноут", 10);
+        deferTasks = true;
+
+        suggestions.onProductChanged(new ProductChangedEvent(1));
+
+        verify(productsRestClient, never()).findProduct(1);
+        assertEquals(List.of(new ProductSuggestions.Suggestion(1, "Игровой ноутбук")),
+                suggestions.suggest("ноут", 10));
+
+        doReturn(Optional.of(new Product(1, "Игровой планшет", null))).when(productsRestClient).findProduct(1);
+        deferredTasks.forEach(Runnable::run);
+
+        assertEquals(List.of(), suggestions.suggest("ноут", 10));
+    }
+
+    @Test
+    void suggest_ReloadIntervalElapsed_ServesCurrentIndexAndReloadsInBackground() {
+        stubProducts();
+        suggestions.suggest("ноут", 10);
+        suggestions.setClock(Clock.fixed(Instant.parse("2024-06-01T10:06:00Z"), ZoneOffset.UTC));
+        deferTasks = true;
+
+        assertEquals(List.of(new ProductSuggestions.Suggestion(1, "Игровой ноутбук")),
+                suggestions.suggest("ноут", 10));
+        suggestions.suggest("ноут", 10);
+
+        verify(productsRestClient, times(1)).streamAllProducts(null);
+        assertEquals(1, deferredTasks.size());
+
+        doAnswer(invocation -> Stream.of(new Product(4, "Ноутбук для работы", null)))
+                .when(productsRestClient).streamAllProducts(null);
+        deferredTasks.forEach(Runnable::run);
+
+        assertEquals(List.of(new ProductSuggestions.Suggestion(4, "Ноутбук для работы")),
+                suggestions.suggest("ноут", 10));
+        verify(productsRestClient, times(2)).streamAllProducts(null);
+    }
+
+    @Test
+    void reload_ProductChangedBeforeReload_DropsOverlay() {
+        stubProducts();
+        suggestions.suggest("ноут", 10);
+        doReturn(Optional.of(new Product(1, "Игровой планшет", null))).when(productsRestClient).findProduct(1);
+        suggestions.onProductChanged(new ProductChangedEvent(1));
+        suggestions.setClock(Clock.fixed(Instant.parse("2024-06-01T10:06:00Z"), ZoneOffset.UTC));
+        doAnswer(invocation -> Stream.of(new Product(1, "Игровой ноутбук", null)))
+                .when(productsRestClient).streamAllProducts(null);
+
+        suggestions.suggest("ноут", 10);
+
+        assertEquals(List.of(new ProductSuggestions.Suggestion(1, "Игровой ноутбук")),
+                suggestions.suggest("ноут", 10));
+    }
+
+    void stubProducts() {
+        doAnswer(invocation -> Stream.of(
+                new Product(1, "Игровой ноутбук", "Описание"),
+                new Product(2, "Ёлочная игрушка", null),
+                new Product(3, "Новогодняя ёлка", null)))
+                .when(productsRestClient).streamAllProducts(null);
+    }
+}
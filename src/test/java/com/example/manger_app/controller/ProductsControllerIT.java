@@ -1,5 +1,6 @@
 package com.example.manger_app.controller;
 
+import com.example.manger_app.client.ProductOperationResult;
 import com.example.manger_app.controller.payload.NewProductPayload;
 import com.example.manger_app.entity.Product;
 import com.github.tomakehurst.wiremock.client.WireMock;
@@ -12,11 +13,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -34,10 +37,14 @@ public class ProductsControllerIT {
     void getProductsList_ReturnsProductsListPage() throws Exception {
         var request = MockMvcRequestBuilders.get("/catalogue/products/list")
                 .queryParam("filter", "товар")
+                .queryParam("page", "1")
+                .queryParam("size", "2")
                 .with(user("second.user").roles("MANAGER"));
 
         WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products"))
                 .withQueryParam("filter", WireMock.equalTo("товар"))
+                .withQueryParam("page", WireMock.equalTo("1"))
+                .withQueryParam("size", WireMock.equalTo("2"))
                 .willReturn(WireMock.ok("""
                         [
                             {"id": 1, "title": "Товар 1", "details": "Описание товара 1"},
@@ -50,6 +57,8 @@ public class ProductsControllerIT {
                         status().isOk(),
                         view().name("catalogue/products/list"),
                         model().attribute("filter", "товар"),
+                        model().attribute("page", 1),
+                        model().attribute("size", 2),
                         model().attribute("products", List.of(
                                 new Product(1, "Товар 1", "Описание товара 1"),
                                 new Product(2, "Товар 2", "Описание товара 2")
@@ -57,7 +66,89 @@ public class ProductsControllerIT {
                 );
 
         WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathMatching("/catalogue-api/products"))
-                .withQueryParam("filter", WireMock.equalTo("товар")));
+                .withQueryParam("filter", WireMock.equalTo("товар"))
+                .withQueryParam("page", WireMock.equalTo("1"))
+                .withQueryParam("size", WireMock.equalTo("2")));
+    }
+
+    @Test
+    void getProductSuggestions_ReturnsSuggestionsAsJson() throws Exception {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products"))
+                .willReturn(WireMock.okJson("""
+                        [
+                            {"id": 1, "title": "Товар 1", "details": "Описание товара 1"},
+                            {"id": 2, "title": "Смартфон", "details": "Описание смартфона"}
+                        ]""")));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/catalogue/products/suggestions")
+                        .queryParam("prefix", "ТОВ")
+                        .with(user("user").roles("MANAGER")))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                                [{"id": 1, "title": "Товар 1"}]""", true)
+                );
+    }
+
+    @Test
+    void getProductsList_PageIsNotModified_ReturnsNotModified() throws Exception {
+        var session = new MockHttpSession();
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products"))
+                .willReturn(WireMock.okJson("""
+                        [
+                            {"id": 1, "title": "Товар 1", "details": "Описание товара 1"}
+                        ]""")));
+
+        var eTag = mockMvc.perform(MockMvcRequestBuilders.get("/catalogue/products/list")
+                        .session(session)
+                        .with(user("second.user").roles("MANAGER")))
+                .andExpectAll(
+                        status().isOk(),
+                        header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"),
+                        header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/catalogue/products/list")
+                        .session(session)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .with(user("second.user").roles("MANAGER")))
+                .andDo(print())
+                .andExpectAll(
+                        status().isNotModified(),
+                        content().string(""));
+    }
+
+    @Test
+    void getProductsList_StreamIsRequested_RendersAllProducts() throws Exception {
+        var request = MockMvcRequestBuilders.get("/catalogue/products/list")
+                .queryParam("filter", "товар")
+                .queryParam("stream", "")
+                .with(user("second.user").roles("MANAGER"));
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products"))
+                .withQueryParam("filter", WireMock.equalTo("товар"))
+                .willReturn(WireMock.ok("""
+                        [
+                            {"id": 1, "title": "Товар 1", "details": "Описание товара 1"},
+                            {"id": 2, "title": "Товар 2", "details": "Описание товара 2"}
+                        ]""").withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(request)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        view().name("catalogue/products/list"),
+                        model().attribute("filter", "товар"),
+                        model().attribute("stream", true),
+                        content().string(containsString("Товар 1")),
+                        content().string(containsString("Товар 2"))
+                );
+
+        WireMock.verify(WireMock.getRequestedFor(WireMock.urlPathMatching("/catalogue-api/products"))
+                .withQueryParam("filter", WireMock.equalTo("товар"))
+                .withoutQueryParam("page"));
     }
 
     @Test
@@ -181,4 +272,81 @@ public class ProductsControllerIT {
                 .andDo(print())
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    void updateProducts_ReturnsResultPerProduct() throws Exception {
+        var request = MockMvcRequestBuilders.post("/catalogue/products/bulk/update")
+                .param("productIds", "1", "2")
+                .param("titles[1]", "Товар 1")
+                .param("details[1]", "Описание товара 1")
+                .param("titles[2]", " ")
+                .param("details[2]", "Описание товара 2")
+                .with(user("user").roles("MANAGER"))
+                .with(csrf());
+
+        WireMock.stubFor(WireMock.get("/catalogue-api/products/1")
+                .willReturn(WireMock.okJson("""
+                        {"id": 1, "title": "Товар", "details": "Описание товара 1"}""")
+                        .withHeader(HttpHeaders.ETAG, "\"1\"")));
+        WireMock.stubFor(WireMock.get("/catalogue-api/products/2")
+                .willReturn(WireMock.okJson("""
+                        {"id": 2, "title": "Товар", "details": "Описание товара 2"}""")
+                        .withHeader(HttpHeaders.ETAG, "\"2\"")));
+        WireMock.stubFor(WireMock.patch("/catalogue-api/products/1")
+                .withHeader(HttpHeaders.IF_MATCH, WireMock.equalTo("\"1\""))
+                .withRequestBody(WireMock.equalToJson("""
+                        {"title": "Товар 1", "details": "Описание товара 1"}"""))
+                .willReturn(WireMock.noContent()));
+        WireMock.stubFor(WireMock.patch("/catalogue-api/products/2")
+                .withHeader(HttpHeaders.IF_MATCH, WireMock.equalTo("\"2\""))
+                .willReturn(WireMock.badRequest()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_PROBLEM_JSON_VALUE)
+                        .withBody("""
+                                {"errors": ["Ошибка 1"]}""")));
+
+        mockMvc.perform(request)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        view().name("catalogue/products/bulk_result"),
+                        model().attribute("results", List.of(ProductOperationResult.ok(1),
+                                new ProductOperationResult(2, ProductOperationResult.Status.INVALID,
+                                        List.of("Ошибка 1")))),
+                        content().string(containsString("Успешно: 1 из 2"))
+                );
+    }
+
+    @Test
+    void deleteProducts_ReturnsResultPerProduct() throws Exception {
+        var request = MockMvcRequestBuilders.post("/catalogue/products/bulk/delete")
+                .param("productIds", "1", "2")
+                .with(user("user").roles("MANAGER"))
+                .with(csrf());
+
+        WireMock.stubFor(WireMock.delete("/catalogue-api/products/1")
+                .willReturn(WireMock.noContent()));
+        WireMock.stubFor(WireMock.delete("/catalogue-api/products/2")
+                .willReturn(WireMock.notFound()));
+
+        mockMvc.perform(request)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        view().name("catalogue/products/bulk_result"),
+                        model().attribute("results", List.of(ProductOperationResult.ok(1),
+                                new ProductOperationResult(2, ProductOperationResult.Status.NOT_FOUND, List.of())))
+                );
+    }
+
+    @Test
+    void deleteProducts_UserIsNotAuthorized_ReturnsForbidden() throws Exception {
+        var request = MockMvcRequestBuilders.post("/catalogue/products/bulk/delete")
+                .param("productIds", "1")
+                .with(user("user"))
+                .with(csrf());
+
+        mockMvc.perform(request)
+                .andDo(print())
+                .andExpect(status().isForbidden());
+    }
 }
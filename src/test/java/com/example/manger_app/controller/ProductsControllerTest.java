@@ -1,9 +1,12 @@
 package com.example.manger_app.controller;
 
-import com.example.manger_app.client.BadRequestException;
+import com.example.manger_app.client.BatchProductsRestClient;
+import com.example.manger_app.client.ProductOperationResult;
 import com.example.manger_app.client.ProductsRestClient;
+import com.example.manger_app.client.ValidationResult;
 import com.example.manger_app.controller.payload.NewProductPayload;
 import com.example.manger_app.entity.Product;
+import com.example.manger_app.entity.ProductsPage;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,12 +15,21 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.ui.ConcurrentModel;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,9 +38,14 @@ class ProductsControllerTest {
     @Mock
     ProductsRestClient productsRestClient;
 
+    @Mock
+    BatchProductsRestClient batchProductsRestClient;
+
     @InjectMocks
     ProductsController controller;
 
+    ServletWebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+
     @Test
     @DisplayName("getProductsList вернет страницу списка отфильтрованных товаров")
     void getProductsList_ReturnsListOfProductsPage() {
@@ -39,16 +56,82 @@ class ProductsControllerTest {
                 .mapToObj(i -> new Product(i, "Товар №%s".formatted(i),
                         "Описание товара №%s".formatted(i)))
                 .toList();
+        var productsPage = new ProductsPage(products, 3, true);
 
-        doReturn(products).when(productsRestClient).findAllProducts(filter);
+        doReturn(productsPage).when(productsRestClient).findProducts(filter, 1, 3);
 
-        var result = controller.getProductsList(model, filter);
+        var result = controller.getProductsList(model, filter, 1, 3, null, webRequest);
 
         assertEquals("catalogue/products/list", result);
         assertEquals(products, model.getAttribute("products"));
+        assertEquals(productsPage, model.getAttribute("productsPage"));
+        assertEquals(1, model.getAttribute("page"));
+        assertEquals(3, model.getAttribute("size"));
         assertEquals(filter, model.getAttribute("filter"));
     }
 
+    @Test
+    @DisplayName("getProductsList ограничит размер страницы")
+    void getProductsList_SizeIsTooLarge_RequestsMaxPageSize() {
+        var model = new ConcurrentModel();
+        var productsPage = new ProductsPage(List.of(), 100, false);
+
+        doReturn(productsPage).when(productsRestClient).findProducts(null, 0, 100);
+
+        controller.getProductsList(model, null, -1, 100_000, null, webRequest);
+
+        assertEquals(0, model.getAttribute("page"));
+        assertEquals(100, model.getAttribute("size"));
+        verify(productsRestClient).findProducts(null, 0, 100);
+        verifyNoMoreInteractions(productsRestClient);
+    }
+
+    @Test
+    @DisplayName("getProductsList вернет страницу товаров после курсора")
+    void getProductsList_CursorIsPresent_ReturnsProductsAfterCursor() {
+        var model = new ConcurrentModel();
+        var products = List.of(new Product(11, "Товар №11", "Описание товара №11"));
+        var productsPage = new ProductsPage(products, 20, false);
+
+        doReturn(productsPage).when(productsRestClient).findProductsAfter("товар", 10, 20);
+
+        var result = controller.getProductsList(model, "товар", 0, 20, 10, webRequest);
+
+        assertEquals("catalogue/products/list", result);
+        assertEquals(products, model.getAttribute("products"));
+        assertEquals(10, model.getAttribute("after"));
+        verify(productsRestClient).findProductsAfter("товар", 10, 20);
+        verifyNoMoreInteractions(productsRestClient);
+    }
+
+    @Test
+    @DisplayName("getProductsStream вернет страницу со всеми товарами и закроет поток после обработки запроса")
+    void getProductsStream_ReturnsListOfProductsPageAndClosesStream() {
+        var model = new ConcurrentModel();
+        var requestAttributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        var closed = new AtomicBoolean();
+        var products = List.of(new Product(1, "Товар №1", "Описание товара №1"));
+
+        doReturn(products.stream().onClose(() -> closed.set(true)))
+                .when(productsRestClient).streamAllProducts("товар");
+
+        try {
+            var result = controller.getProductsStream(model, "товар");
+
+            assertEquals("catalogue/products/list", result);
+            assertEquals("товар", model.getAttribute("filter"));
+            var iterator = (Iterator<?>) model.getAttribute("products");
+            assertEquals(products.get(0), iterator.next());
+            assertFalse(closed.get());
+
+            requestAttributes.requestCompleted();
+            assertTrue(closed.get());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
     @Test
     @DisplayName("getNewProductPage вернет страницу нового товара")
     void getNewProductPage_ReturnsNewProductPage() {
@@ -64,15 +147,15 @@ class ProductsControllerTest {
         var model = new ConcurrentModel();
         var response = new MockHttpServletResponse();
 
-        doReturn(new Product(1, "Новый товар", "Описание нового товара"))
+        doReturn(new ValidationResult.Valid<>(new Product(1, "Новый товар", "Описание нового товара")))
                 .when(productsRestClient)
-                .createProduct("Новый товар", "Описание нового товара");
+                .tryCreateProduct("Новый товар", "Описание нового товара");
 
         var result = controller.createProduct(payload, model, response);
 
         assertEquals("redirect:/catalogue/products/1", result);
 
-        verify(productsRestClient).createProduct("Новый товар", "Описание нового товара");
+        verify(productsRestClient).tryCreateProduct("Новый товар", "Описание нового товара");
         verifyNoMoreInteractions(productsRestClient);
     }
 
@@ -83,9 +166,9 @@ class ProductsControllerTest {
         var model = new ConcurrentModel();
         var response = new MockHttpServletResponse();
 
-        doThrow(new BadRequestException(List.of("Ошибка 1", "Ошибка 2")))
+        doReturn(new ValidationResult.Invalid<Product>(List.of("Ошибка 1", "Ошибка 2")))
                 .when(productsRestClient)
-                .createProduct(" ", null);
+                .tryCreateProduct(" ", null);
 
         var result = controller.createProduct(payload, model, response);
 
@@ -94,7 +177,45 @@ class ProductsControllerTest {
         assertEquals(List.of("Ошибка 1", "Ошибка 2"), model.getAttribute("errors"));
         assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatus());
 
-        verify(productsRestClient).createProduct(" ", null);
+        verify(productsRestClient).tryCreateProduct(" ", null);
         verifyNoMoreInteractions(productsRestClient);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("updateProducts изменит выбранные товары и вернет страницу результатов")
+    void updateProducts_ReturnsBulkResultPage() {
+        var parameters = Map.of(
+                "titles[1]", "Товар 1", "details[1]", "Описание товара 1",
+                "titles[2]", "Товар 2", "details[2]", "Описание товара 2",
+                "titles[3]", "Товар 3", "details[3]", "Описание товара 3");
+        var model = new ConcurrentModel();
+        var results = List.of(ProductOperationResult.ok(1),
+                new ProductOperationResult(2, ProductOperationResult.Status.INVALID, List.of("Ошибка 1")));
+
+        doReturn(results).when(batchProductsRestClient).updateProducts(List.of(
+                new BatchProductsRestClient.ProductUpdate(1, "Товар 1", "Описание товара 1"),
+                new BatchProductsRestClient.ProductUpdate(2, "Товар 2", "Описание товара 2")));
+
+        var result = controller.updateProducts(List.of(1, 2, 1), parameters, model);
+
+        assertEquals("catalogue/products/bulk_result", result);
+        assertEquals(results, model.getAttribute("results"));
+        verifyNoInteractions(productsRestClient);
+    }
+
+    @Test
+    @DisplayName("deleteProducts удалит выбранные товары и вернет страницу результатов")
+    void deleteProducts_ReturnsBulkResultPage() {
+        var model = new ConcurrentModel();
+        var results = List.of(ProductOperationResult.ok(1),
+                new ProductOperationResult(2, ProductOperationResult.Status.NOT_FOUND, List.of()));
+
+        doReturn(results).when(batchProductsRestClient).deleteProducts(List.of(1, 2));
+
+        var result = controller.deleteProducts(List.of(1, 2), model);
+
+        assertEquals("catalogue/products/bulk_result", result);
+        assertEquals(results, model.getAttribute("results"));
+        verifyNoInteractions(productsRestClient);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.manger_app.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.ModelAndView;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ViewRenderingMetricsInterceptorTest {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    ViewRenderingMetricsInterceptor interceptor =
+            new ViewRenderingMetricsInterceptor(meterRegistry, "catalogue/products/");
+
+    @Test
+    void afterCompletion_CatalogueViewWasRendered_RecordsRenderingTime() {
+        var request = new MockHttpServletRequest();
+        var response = new MockHttpServletResponse();
+
+        interceptor.postHandle(request, response, new Object(), new ModelAndView("catalogue/products/list"));
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertEquals(1, meterRegistry.get("catalogue.views.render")
+                .tag("view", "catalogue/products/list")
+                .tag("outcome", "SUCCESS")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void afterCompletion_HandlerRedirected_DoesNotRecord() {
+        var request = new MockHttpServletRequest();
+        var response = new MockHttpServletResponse();
+
+        interceptor.postHandle(request, response, new Object(), new ModelAndView("redirect:/catalogue/products/1"));
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertTrue(meterRegistry.find("catalogue.views.render").timers().isEmpty());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.manger_app.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnabledIfSystemProperty(named = "load-tests", matches = "true")
+class CatalogueLoadTest {
+    static final double[] RATES = Arrays.stream(System.getProperty("load-tests.rates", "50,100,200").split(","))
+            .mapToDouble(rate -> Double.parseDouble(rate.trim()))
+            .toArray();
+
+    static final String MIX = System.getProperty("load-tests.mix", "list=50,view=35,edit=10,create=5");
+
+    static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("load-tests.warm-up-seconds", 5));
+
+    static final Duration DURATION = Duration.ofSeconds(Long.getLong("load-tests.duration-seconds", 20));
+
+    static final Duration CATALOGUE_DELAY = Duration.ofMillis(Long.getLong("load-tests.catalogue-delay-millis", 50));
+
+    static final double CATALOGUE_DELAY_SIGMA =
+            Double.parseDouble(System.getProperty("load-tests.catalogue-delay-sigma", "0.5"));
+
+    static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load-tests.max-error-rate", "0.01"));
+
+    static final Path OUTPUT_DIRECTORY = Path.of(System.getProperty("load-tests.output", "target/load-tests"));
+
+    @Test
+    void catalogueMix_ReportsLatencyPercentilesPerRate() throws Exception {
+        var results = new ArrayList<LoadResult>();
+        try (var catalogue = new StubbedCatalogue(CATALOGUE_DELAY, CATALOGUE_DELAY_SIGMA, 1_000);
+             var context = LoadTestApplication.run(catalogue.baseUrl(),
+                     "--spring.threads.virtual.enabled=" + Boolean.getBoolean("load-tests.virtual-threads"));
+             var httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .build()) {
+            var generator = new OpenLoadGenerator(httpClient, LoadTestApplication.baseUri(context),
+                    Scenario.parseMix(MIX));
+            for (double rate : RATES) {
+                var result = generator.run(rate, WARM_UP, DURATION);
+                result.writeHistograms(OUTPUT_DIRECTORY);
+                results.add(result);
+            }
+        }
+
+        System.out.printf("mix: %s, catalogue delay: %d ms (sigma %.2f), histograms: %s%n",
+                MIX, CATALOGUE_DELAY.toMillis(), CATALOGUE_DELAY_SIGMA, OUTPUT_DIRECTORY.toAbsolutePath());
+        LoadResult.printHeader(System.out);
+        results.forEach(result -> result.print(System.out));
+
+        for (var result : results) {
+            long requests = result.total().getTotalCount();
+            assertTrue(requests > 0, result.label());
+            assertTrue(result.totalErrors() <= requests * MAX_ERROR_RATE,
+                    "%s: %d errors out of %d requests".formatted(result.label(), result.totalErrors(), requests));
+        }
+    }
+}
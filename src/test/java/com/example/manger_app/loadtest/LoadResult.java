@@ -0,0 +1,67 @@
+package com.example.manger_app.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+record LoadResult(String label, Duration duration, Map<Scenario, Histogram> latencies, Map<Scenario, Long> errors) {
+    static final double MICROSECONDS_PER_MILLISECOND = 1_000.0;
+
+    Histogram total() {
+        var total = new Histogram(3);
+        latencies.values().forEach(total::add);
+        return total;
+    }
+
+    long totalErrors() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    double throughput(Histogram histogram) {
+        return histogram.getTotalCount() / (duration.toMillis() / 1_000.0);
+    }
+
+    static void printHeader(PrintStream out) {
+        out.printf("%-24s %-8s %10s %10s %10s %10s %10s %10s %8s%n",
+                "run", "scenario", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+    }
+
+    void print(PrintStream out) {
+        latencies.forEach((scenario, histogram) ->
+                print(out, scenario.name().toLowerCase(), histogram, errors.getOrDefault(scenario, 0L)));
+        if (latencies.size() > 1) {
+            print(out, "total", total(), totalErrors());
+        }
+    }
+
+    void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (var entry : latencies.entrySet()) {
+            write(directory.resolve("%s-%s.hgrm".formatted(label, entry.getKey().name().toLowerCase())),
+                    entry.getValue());
+        }
+        write(directory.resolve("%s-total.hgrm".formatted(label)), total());
+    }
+
+    private void print(PrintStream out, String scenario, Histogram histogram, long errors) {
+        out.printf("%-24s %-8s %10d %10.1f %10.1f %10.1f %10.1f %10.1f %8d%n",
+                label, scenario, histogram.getTotalCount(), throughput(histogram),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getMaxValue()), errors);
+    }
+
+    private static void write(Path file, Histogram histogram) throws IOException {
+        try (var out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, MICROSECONDS_PER_MILLISECOND);
+        }
+    }
+
+    private static double millis(long microseconds) {
+        return microseconds / MICROSECONDS_PER_MILLISECOND;
+    }
+}
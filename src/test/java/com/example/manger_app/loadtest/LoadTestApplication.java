@@ -0,0 +1,30 @@
+package com.example.manger_app.loadtest;
+
+import com.example.manger_app.ManagerAppApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+final class LoadTestApplication {
+    private LoadTestApplication() {
+    }
+
+    static ConfigurableApplicationContext run(String catalogueUri, String... args) {
+        var arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--services.catalogue.uri=" + catalogueUri,
+                "--logging.level.root=WARN"));
+        arguments.addAll(List.of(args));
+        return new SpringApplicationBuilder(ManagerAppApplication.class, LoadTestSecurityBeans.class)
+                .run(arguments.toArray(String[]::new));
+    }
+
+    static URI baseUri(ConfigurableApplicationContext context) {
+        return URI.create("http://localhost:%d"
+                .formatted(((WebServerApplicationContext) context).getWebServer().getPort()));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.manger_app.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+class OpenLoadGenerator {
+    private final HttpClient httpClient;
+
+    private final URI baseUri;
+
+    private final Scenario[] scenarios;
+
+    private final int[] cumulativeWeights;
+
+    OpenLoadGenerator(HttpClient httpClient, URI baseUri, Map<Scenario, Integer> mix) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.scenarios = mix.keySet().toArray(Scenario[]::new);
+        this.cumulativeWeights = new int[scenarios.length];
+        int cumulativeWeight = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            cumulativeWeight += mix.get(scenarios[i]);
+            cumulativeWeights[i] = cumulativeWeight;
+        }
+        if (cumulativeWeight <= 0) {
+            throw new IllegalArgumentException("Scenario mix must have a positive total weight");
+        }
+    }
+
+    LoadResult run(double requestsPerSecond, Duration warmUp, Duration duration) {
+        var recorders = new EnumMap<Scenario, Recorder>(Scenario.class);
+        var errors = new EnumMap<Scenario, LongAdder>(Scenario.class);
+        for (Scenario scenario : scenarios) {
+            recorders.put(scenario, new Recorder(3));
+            errors.put(scenario, new LongAdder());
+        }
+
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        long start = System.nanoTime();
+        long measureFrom = start + warmUp.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        try (var requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intendedStart = start + (long) (i * intervalNanos);
+                if (intendedStart >= measureUntil) {
+                    break;
+                }
+                long delay;
+                while ((delay = intendedStart - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+
+                Scenario scenario = nextScenario();
+                boolean measured = intendedStart >= measureFrom;
+                requests.execute(() -> {
+                    boolean failed;
+                    try {
+                        failed = httpClient.send(scenario.request(baseUri, ThreadLocalRandom.current()),
+                                HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+                    } catch (Exception exception) {
+                        failed = true;
+                    }
+                    if (measured) {
+                        recorders.get(scenario)
+                                .recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart));
+                        if (failed) {
+                            errors.get(scenario).increment();
+                        }
+                    }
+                });
+            }
+        }
+
+        var latencies = new EnumMap<Scenario, Histogram>(Scenario.class);
+        var errorCounts = new EnumMap<Scenario, Long>(Scenario.class);
+        recorders.forEach((scenario, recorder) -> latencies.put(scenario, recorder.getIntervalHistogram()));
+        errors.forEach((scenario, count) -> errorCounts.put(scenario, count.sum()));
+        return new LoadResult("%.0f-rps".formatted(requestsPerSecond), duration, latencies, errorCounts);
+    }
+
+    private Scenario nextScenario() {
+        int weight = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (weight < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.manger_app.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+enum Scenario {
+    LIST {
+        @Override
+        HttpRequest request(URI baseUri, RandomGenerator random) {
+            return get(baseUri.resolve("/catalogue/products/list?page=%d".formatted(random.nextInt(10))));
+        }
+    },
+    VIEW {
+        @Override
+        HttpRequest request(URI baseUri, RandomGenerator random) {
+            return get(baseUri.resolve("/catalogue/products/%d".formatted(productId(random))));
+        }
+    },
+    EDIT {
+        @Override
+        HttpRequest request(URI baseUri, RandomGenerator random) {
+            int productId = productId(random);
+            return post(baseUri.resolve("/catalogue/products/%d/edit".formatted(productId)),
+                    "title=%s&details=%s".formatted(encode("Товар " + productId), encode("Описание товара")));
+        }
+    },
+    CREATE {
+        @Override
+        HttpRequest request(URI baseUri, RandomGenerator random) {
+            return post(baseUri.resolve("/catalogue/products/create"),
+                    "title=%s&details=%s".formatted(encode("Новый товар"), encode("Описание нового товара")));
+        }
+    };
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private static final int PRODUCTS = 1_000;
+
+    abstract HttpRequest request(URI baseUri, RandomGenerator random);
+
+    static Map<Scenario, Integer> parseMix(String mix) {
+        var weights = new EnumMap<Scenario, Integer>(Scenario.class);
+        for (String entry : mix.split(",")) {
+            String[] weight = entry.trim().split("=");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Invalid scenario weight: " + entry);
+            }
+            weights.put(Scenario.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+        return weights;
+    }
+
+    private static int productId(RandomGenerator random) {
+        return random.nextInt(PRODUCTS) + 1;
+    }
+
+    private static HttpRequest get(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(TIMEOUT)
+                .build();
+    }
+
+    private static HttpRequest post(URI uri, String form) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
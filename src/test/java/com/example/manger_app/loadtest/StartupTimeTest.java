@@ -0,0 +1,146 @@
+package com.example.manger_app.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@EnabledIfSystemProperty(named = "load-tests", matches = "true")
+class StartupTimeTest {
+    static final Path APPLICATION_DIRECTORY = Path.of(System.getProperty("load-tests.startup.directory",
+            "target/startup"));
+
+    static final String APPLICATION_JAR = System.getProperty("load-tests.startup.jar",
+            "manager-app-0.0.1-SNAPSHOT.jar");
+
+    static final int RUNS = Integer.getInteger("load-tests.startup.runs", 3);
+
+    static final Duration TIMEOUT = Duration.ofSeconds(Long.getLong("load-tests.startup.timeout-seconds", 60));
+
+    enum Variant {
+        BASELINE(List.of(), false),
+        AOT_CDS(List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa"), false),
+        AOT_CDS_WARM_UP(List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa"), true);
+
+        final List<String> jvmArguments;
+
+        final boolean warmUp;
+
+        Variant(List<String> jvmArguments, boolean warmUp) {
+            this.jvmArguments = jvmArguments;
+            this.warmUp = warmUp;
+        }
+    }
+
+    record Startup(Variant variant, long readyMillis, long firstRequestMillis) {
+    }
+
+    @Test
+    void startupVariants_ReportTimeToReadinessAndFirstRequest() throws Exception {
+        assumeTrue(Files.exists(APPLICATION_DIRECTORY.resolve(APPLICATION_JAR)),
+                "run mvn -Pstartup package first");
+
+        var startups = new ArrayList<Startup>();
+        try (var catalogue = new StubbedCatalogue(Duration.ZERO, 0, 50);
+             var httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .followRedirects(HttpClient.Redirect.NEVER)
+                     .build()) {
+            for (int run = 0; run < RUNS; run++) {
+                for (Variant variant : Variant.values()) {
+                    startups.add(start(variant, catalogue, httpClient));
+                }
+            }
+        }
+
+        System.out.printf("%-16s %12s %18s%n", "variant", "ready, ms", "first request, ms");
+        for (Variant variant : Variant.values()) {
+            var runs = startups.stream().filter(startup -> startup.variant() == variant).toList();
+            System.out.printf("%-16s %12d %18d%n", variant,
+                    median(runs.stream().mapToLong(Startup::readyMillis).toArray()),
+                    median(runs.stream().mapToLong(Startup::firstRequestMillis).toArray()));
+        }
+    }
+
+    Startup start(Variant variant, StubbedCatalogue catalogue, HttpClient httpClient) throws Exception {
+        int port = freePort();
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(variant.jvmArguments);
+        command.addAll(List.of("-jar", APPLICATION_JAR,
+                "--spring.profiles.active=standalone",
+                "--server.port=" + port,
+                "--services.catalogue.uri=" + catalogue.baseUrl(),
+                "--spring.security.oauth2.client.provider.keycloak.issuer-uri=" + catalogue.issuerUri(),
+                "--warm-up.enabled=" + variant.warmUp,
+                "--logging.level.root=WARN"));
+
+        long startedAt = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(APPLICATION_DIRECTORY.toFile())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try {
+            var baseUri = URI.create("http://localhost:%d".formatted(port));
+            awaitReadiness(httpClient, baseUri.resolve("/actuator/health/readiness"), process);
+            long readyAt = System.nanoTime();
+
+            HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(
+                            baseUri.resolve("/catalogue/products/list")).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            long respondedAt = System.nanoTime();
+            assertEquals(302, response.statusCode());
+
+            return new Startup(variant, TimeUnit.NANOSECONDS.toMillis(readyAt - startedAt),
+                    TimeUnit.NANOSECONDS.toMillis(respondedAt - readyAt));
+        } finally {
+            process.destroy();
+            process.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    static void awaitReadiness(HttpClient httpClient, URI readiness, Process process) throws Exception {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("application exited with " + process.exitValue());
+            }
+            try {
+                if (httpClient.send(HttpRequest.newBuilder(readiness).build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ignored) {
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("application was not ready within " + TIMEOUT);
+    }
+
+    static long median(long[] values) {
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+    static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
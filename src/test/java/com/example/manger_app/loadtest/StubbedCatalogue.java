@@ -0,0 +1,83 @@
+package com.example.manger_app.loadtest;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+class StubbedCatalogue implements AutoCloseable {
+    private final WireMockServer server;
+
+    private final Duration delay;
+
+    private final double delaySigma;
+
+    StubbedCatalogue(Duration delay, double delaySigma, int acceptQueueSize) {
+        this.delay = delay;
+        this.delaySigma = delaySigma;
+        this.server = new WireMockServer(options()
+                .dynamicPort()
+                .containerThreads(64)
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(16)
+                .jettyAcceptQueueSize(acceptQueueSize)
+                .disableRequestJournal());
+        server.start();
+
+        String products = IntStream.rangeClosed(1, 20)
+                .mapToObj("{\"id\": %1$d, \"title\": \"Товар %1$d\", \"details\": \"Описание товара %1$d\"}"::formatted)
+                .collect(Collectors.joining(",", "[", "]"));
+        server.stubFor(WireMock.get(WireMock.urlPathEqualTo("/catalogue-api/products"))
+                .willReturn(delayed(WireMock.okJson(products))));
+        server.stubFor(WireMock.get(WireMock.urlPathMatching("/catalogue-api/products/\\d+"))
+                .willReturn(delayed(WireMock.okJson("""
+                                {"id": 1, "title": "Товар 1", "details": "Описание товара 1"}""")
+                        .withHeader(HttpHeaders.ETAG, "\"1\""))));
+        server.stubFor(WireMock.post(WireMock.urlPathEqualTo("/catalogue-api/products"))
+                .willReturn(delayed(WireMock.jsonResponse("""
+                        {"id": 1, "title": "Товар 1", "details": "Описание товара 1"}""", 201))));
+        server.stubFor(WireMock.patch(WireMock.urlPathMatching("/catalogue-api/products/\\d+"))
+                .willReturn(delayed(WireMock.noContent())));
+        server.stubFor(WireMock.delete(WireMock.urlPathMatching("/catalogue-api/products/\\d+"))
+                .willReturn(delayed(WireMock.noContent())));
+        server.stubFor(WireMock.get(WireMock.urlPathEqualTo("/realms/app/.well-known/openid-configuration"))
+                .willReturn(WireMock.okJson("""
+                        {"issuer": "%1$s",
+                         "authorization_endpoint": "%1$s/protocol/openid-connect/auth",
+                         "token_endpoint": "%1$s/protocol/openid-connect/token",
+                         "userinfo_endpoint": "%1$s/protocol/openid-connect/userinfo",
+                         "jwks_uri": "%1$s/protocol/openid-connect/certs",
+                         "subject_types_supported": ["public"],
+                         "response_types_supported": ["code"],
+                         "id_token_signing_alg_values_supported": ["RS256"]}""".formatted(issuerUri()))));
+    }
+
+    String baseUrl() {
+        return server.baseUrl();
+    }
+
+    String issuerUri() {
+        return server.baseUrl() + "/realms/app";
+    }
+
+    @Override
+    public void close() {
+        server.stop();
+    }
+
+    private ResponseDefinitionBuilder delayed(ResponseDefinitionBuilder response) {
+        if (delay.isZero()) {
+            return response;
+        }
+        if (delaySigma > 0) {
+            return response.withLogNormalRandomDelay(delay.toMillis(), delaySigma);
+        }
+        return response.withFixedDelay((int) delay.toMillis());
+    }
+}
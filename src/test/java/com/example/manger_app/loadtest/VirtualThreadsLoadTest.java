@@ -0,0 +1,96 @@
+package com.example.manger_app.loadtest;
+
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EnabledIfSystemProperty(named = "load-tests", matches = "true")
+class VirtualThreadsLoadTest {
+    static final int USERS = Integer.getInteger("load-tests.users", 1_000);
+
+    static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("load-tests.warm-up-seconds", 5));
+
+    static final Duration DURATION = Duration.ofSeconds(Long.getLong("load-tests.duration-seconds", 20));
+
+    static final Duration CATALOGUE_DELAY = Duration.ofMillis(Long.getLong("load-tests.catalogue-delay-millis", 50));
+
+    StubbedCatalogue catalogue;
+
+    @BeforeEach
+    void setUp() {
+        catalogue = new StubbedCatalogue(CATALOGUE_DELAY, 0, USERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalogue.close();
+    }
+
+    @Test
+    void getProductPage_PlatformThreadsVersusVirtualThreads() {
+        var platformThreads = run(false);
+        var virtualThreads = run(true);
+
+        LoadResult.printHeader(System.out);
+        for (var result : List.of(platformThreads, virtualThreads)) {
+            result.print(System.out);
+        }
+
+        assertEquals(0, platformThreads.totalErrors());
+        assertEquals(0, virtualThreads.totalErrors());
+    }
+
+    private LoadResult run(boolean virtualThreadsEnabled) {
+        var latencies = new Recorder(3);
+        var errors = new LongAdder();
+        try (var context = LoadTestApplication.run(catalogue.baseUrl(),
+                "--spring.threads.virtual.enabled=" + virtualThreadsEnabled,
+                "--server.tomcat.accept-count=" + USERS);
+             var httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .build();
+             var users = Executors.newVirtualThreadPerTaskExecutor()) {
+            var baseUri = LoadTestApplication.baseUri(context);
+            long measureFrom = System.nanoTime() + WARM_UP.toNanos();
+            long measureUntil = measureFrom + DURATION.toNanos();
+            for (int i = 0; i < USERS; i++) {
+                users.execute(() -> {
+                    long start;
+                    while ((start = System.nanoTime()) < measureUntil) {
+                        int status;
+                        try {
+                            status = httpClient.send(Scenario.VIEW.request(baseUri, ThreadLocalRandom.current()),
+                                    HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception exception) {
+                            status = -1;
+                        }
+                        if (start < measureFrom) {
+                            continue;
+                        }
+                        if (status != 200) {
+                            errors.increment();
+                        }
+                        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                    }
+                });
+            }
+        }
+        return new LoadResult(virtualThreadsEnabled ? "virtual" : "platform", DURATION,
+                Map.of(Scenario.VIEW, latencies.getIntervalHistogram()), Map.of(Scenario.VIEW, errors.sum()));
+    }
+}
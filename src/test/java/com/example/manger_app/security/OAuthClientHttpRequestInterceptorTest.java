@@ -0,0 +1,282 @@
+package com.example.manger_app.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OAuthClientHttpRequestInterceptorTest {
+    static final ClientRegistration CLIENT_REGISTRATION = ClientRegistration.withRegistrationId("keycloak")
+            .clientId("manager-app")
+            .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+            .tokenUri("http://localhost/token")
+            .build();
+
+    OAuth2AuthorizedClientManager authorizedClientManager = mock(OAuth2AuthorizedClientManager.class);
+
+    OAuthClientHttpRequestInterceptor interceptor =
+            new OAuthClientHttpRequestInterceptor(authorizedClientManager, "keycloak");
+
+    ClientHttpRequestExecution execution = (request, body) -> {
+        var response = new MockClientHttpResponse(new byte[0], 200);
+        response.getHeaders().addAll(HttpHeaders.AUTHORIZATION,
+                request.getHeaders().getOrEmpty(HttpHeaders.AUTHORIZATION));
+        return response;
+    };
+
+    @Test
+    void intercept_AuthorizationHeaderIsPresent_DoesNotAuthorize() throws Exception {
+        var request = new MockClientHttpRequest(HttpMethod.GET, URI.create("/catalogue-api/products"));
+        request.getHeaders().setBearerAuth("token");
+
+        var response = interceptor.intercept(request, new byte[0], execution);
+
+        assertEquals("Bearer token", response.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        verifyNoInteractions(authorizedClientManager);
+    }
+
+    @Test
+    void intercept_TokenIsCached_DoesNotAuthorizeAgain() throws Exception {
+        var now = Instant.parse("2026-10-17T10:00:00Z");
+        interceptor.setClock(Clock.fixed(now, ZoneOffset.UTC));
+        doReturn(authorizedClient("user", "token", now.plusSeconds(300)))
+                .when(authorizedClientManager).authorize(any());
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Bearer token", interceptAs("user"));
+        }
+
+        verify(authorizedClientManager, times(1)).authorize(any());
+    }
+
+    @Test
+    void intercept_TokenIsNotCached_RecordsTokenAcquisition() throws Exception {
+        var meterRegistry = new SimpleMeterRegistry();
+        interceptor.setMeterRegistry(meterRegistry);
+        var now = Instant.parse("2026-10-17T10:00:00Z");
+        interceptor.setClock(Clock.fixed(now, ZoneOffset.UTC));
+        doReturn(authorizedClient("user", "token", now.plusSeconds(300)))
+                .when(authorizedClientManager).authorize(any());
+
+        interceptAs("user");
+        interceptAs("user");
+
+        assertEquals(1, meterRegistry.get("catalogue.oauth.token.acquisitions")
+                .tag("registration", "keycloak")
+                .tag("outcome", "SUCCESS")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void intercept_TokenExpiresSoon_RefreshesToken() throws Exception {
+        var now = Instant.parse("2026-10-17T10:00:00Z");
+        interceptor.setClock(Clock.fixed(now, ZoneOffset.UTC));
+        doReturn(authorizedClient("user", "token-1", now.plusSeconds(20)))
+                .doReturn(authorizedClient("user", "token-2", now.plusSeconds(300)))
+                .when(authorizedClientManager).authorize(any());
+
+        assertEquals("Bearer token-1", interceptAs("user"));
+        assertEquals("Bearer token-2", interceptAs("user"));
+        assertEquals("Bearer token-2", interceptAs("user"));
+
+        verify(authorizedClientManager, times(2)).authorize(any());
+    }
+
+    @Test
+    void intercept_TokenExpiresSoonAndRefreshIsInFlight_UsesCurrentToken() throws Exception {
+        var now = Instant.parse("2026-10-17T10:00:00Z");
+        interceptor.setClock(Clock.fixed(now, ZoneOffset.UTC));
+        var refreshStarted = new CountDownLatch(1);
+        var refreshReleased = new CountDownLatch(1);
+        var authorizations = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (authorizations.incrementAndGet() == 1) {
+                return authorizedClient("user", "token-1", now.plusSeconds(20));
+            }
+            refreshStarted.countDown();
+            refreshReleased.await(5, TimeUnit.SECONDS);
+            return authorizedClient("user", "token-2", now.plusSeconds(300));
+        }).when(authorizedClientManager).authorize(any());
+
+        assertEquals("Bearer token-1", interceptAs("user"));
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var refreshingRequest = executor.submit(() -> interceptAs("user"));
+            assertTrue(refreshStarted.await(5, TimeUnit.SECONDS));
+
+            var concurrentRequests = new ArrayList<Future<String>>();
+            for (int i = 0; i < 100; i++) {
+                concurrentRequests.add(executor.submit(() -> interceptAs("user")));
+            }
+            for (var concurrentRequest : concurrentRequests) {
+                assertEquals("Bearer token-1", concurrentRequest.get(5, TimeUnit.SECONDS));
+            }
+
+            refreshReleased.countDown();
+            assertEquals("Bearer token-2", refreshingRequest.get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(2, authorizations.get());
+    }
+
+    @Test
+    void intercept_TokenIsNotCached_ConcurrentRequestsShareOneAuthorization() throws Exception {
+        var now = Instant.parse("2026-10-17T10:00:00Z");
+        var refreshReleased = new CountDownLatch(1);
+        var authorizations = new AtomicInteger();
+        doAnswer(invocation -> {
+            authorizations.incrementAndGet();
+            refreshReleased.await(5, TimeUnit.SECONDS);
+            return authorizedClient("user", "token", now.plusSeconds(300));
+        }).when(authorizedClientManager).authorize(any());
+        interceptor.setClock(Clock.fixed(now, ZoneOffset.UTC));
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var requests = new ArrayList<Future<String>>();
+            for (int i = 0; i < 100; i++) {
+                requests.add(executor.submit(() -> interceptAs("user")));
+            }
+            while (authorizations.get() == 0) {
+                Thread.onSpinWait();
+            }
+            Thread.sleep(100);
+            refreshReleased.countDown();
+
+            for (var request : requests) {
+                assertEquals("Bearer token", request.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, authorizations.get());
+    }
+
+    @Test
+    void intercept_ResponseIsUnauthorized_EvictsCachedToken() throws Exception {
+        var now = Instant.parse("2026-10-17T10:00:00Z");
+        interceptor.setClock(Clock.fixed(now, ZoneOffset.UTC));
+        doReturn(authorizedClient("user", "token-1", now.plusSeconds(300)))
+                .doReturn(authorizedClient("user", "token-2", now.plusSeconds(300)))
+                .when(authorizedClientManager).authorize(any());
+        ClientHttpRequestExecution unauthorized = (request, body) -> new MockClientHttpResponse(new byte[0], 401);
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+        try {
+            interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI.create("/catalogue-api/products")),
+                    new byte[0], unauthorized);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        assertEquals("Bearer token-2", interceptAs("user"));
+    }
+
+    @Test
+    void intercept_RequestsRunOnVirtualThreads_EachRequestCarriesItsUsersToken() throws Exception {
+        doAnswer(invocation -> {
+            OAuth2AuthorizeRequest authorizeRequest = invocation.getArgument(0);
+            String username = authorizeRequest.getPrincipal().getName();
+            return authorizedClient(username, "token-" + username, Instant.now().plusSeconds(300));
+        }).when(authorizedClientManager).authorize(any());
+
+        var authorizationHeaders = new ArrayList<Future<String>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1_000; i++) {
+                var username = "user-" + i;
+                authorizationHeaders.add(executor.submit(() -> interceptAs(username)));
+            }
+        }
+
+        for (int i = 0; i < authorizationHeaders.size(); i++) {
+            assertEquals("Bearer token-user-" + i, authorizationHeaders.get(i).get());
+        }
+    }
+
+    @Test
+    void decorate_TaskRunsOnAnotherThread_UsesTokenAuthorizedOnCallerThread() throws Exception {
+        var authorizingThreads = new ArrayList<Thread>();
+        doAnswer(invocation -> {
+            authorizingThreads.add(Thread.currentThread());
+            return authorizedClient("user", "token", Instant.now().plusSeconds(300));
+        }).when(authorizedClientManager).authorize(any());
+        var authorizationHeader = new AtomicReference<String>();
+        var principal = new AtomicReference<String>();
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+        Runnable task;
+        try {
+            task = interceptor.decorate(() -> {
+                principal.set(SecurityContextHolder.getContext().getAuthentication().getName());
+                try {
+                    authorizationHeader.set(interceptor.intercept(
+                                    new MockClientHttpRequest(HttpMethod.GET, URI.create("/catalogue-api/products")),
+                                    new byte[0], execution)
+                            .getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            executor.submit(task).get(5, TimeUnit.SECONDS);
+            assertNull(executor.submit(() -> SecurityContextHolder.getContext().getAuthentication())
+                    .get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals("user", principal.get());
+        assertEquals("Bearer token", authorizationHeader.get());
+        assertEquals(List.of(Thread.currentThread()), authorizingThreads);
+    }
+
+    private String interceptAs(String username) throws IOException {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(username, "password"));
+        try {
+            Thread.yield();
+            return interceptor.intercept(
+                            new MockClientHttpRequest(HttpMethod.GET, URI.create("/catalogue-api/products")),
+                            new byte[0], execution)
+                    .getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static OAuth2AuthorizedClient authorizedClient(String username, String token, Instant expiresAt) {
+        return new OAuth2AuthorizedClient(CLIENT_REGISTRATION, username,
+                new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, token,
+                        expiresAt.minusSeconds(600), expiresAt));
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.manger_app.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SecurityStateRepositoryTest {
+    static final Instant NOW = Instant.parse("2026-10-17T10:00:00Z");
+
+    static final ClientRegistration CLIENT_REGISTRATION = ClientRegistration.withRegistrationId("keycloak")
+            .clientId("manager-app")
+            .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+            .redirectUri("{baseUrl}/login/oauth2/code/{registrationId}")
+            .authorizationUri("http://localhost/auth")
+            .tokenUri("http://localhost/token")
+            .build();
+
+    SecurityStateCodec codec = new SecurityStateCodec(
+            new InMemoryClientRegistrationRepository(CLIENT_REGISTRATION), new ObjectMapper());
+
+    InMemorySecurityStateStore store = new InMemorySecurityStateStore(100);
+
+    SecurityStateRepository cookieRepository = repository(new EncryptedCookieStorage(
+            new SecretKeySpec(new byte[32], "AES")));
+
+    SecurityStateRepository sharedRepository = repository(new SharedStoreStorage(store));
+
+    @Test
+    void saveContext_CookieMode_RestoresAuthenticationAndAuthorizedClientOnNextRequest() {
+        var login = new MockHttpServletRequest();
+        var loginResponse = new MockHttpServletResponse();
+        var authentication = authentication("user", List.of("ROLE_MANAGER"));
+        cookieRepository.saveAuthorizedClient(authorizedClient("user"), authentication, login, loginResponse);
+        cookieRepository.saveContext(context(authentication), login, loginResponse);
+
+        var request = next(loginResponse);
+        assertTrue(cookieRepository.containsContext(request));
+        var restored = cookieRepository.loadDeferredContext(request).get().getAuthentication();
+        assertEquals("user", restored.getName());
+        assertEquals(Set.of("ROLE_MANAGER"), authorities(restored.getAuthorities()));
+        OAuth2AuthorizedClient authorizedClient =
+                cookieRepository.loadAuthorizedClient("keycloak", restored, request);
+        assertEquals("access-token", authorizedClient.getAccessToken().getTokenValue());
+        assertEquals("refresh-token", authorizedClient.getRefreshToken().getTokenValue());
+        assertNull(cookieRepository.loadAuthorizedClient("keycloak", authentication("other", List.of()), request));
+    }
+
+    @Test
+    void loadDeferredContext_CookieIsTampered_ReturnsEmptyContext() {
+        var response = new MockHttpServletResponse();
+        cookieRepository.saveContext(context(authentication("user", List.of("ROLE_MANAGER"))),
+                new MockHttpServletRequest(), response);
+        Cookie cookie = response.getCookie(SecurityStateRepository.STATE_NAME);
+        char[] value = cookie.getValue().toCharArray();
+        value[value.length / 2] = value[value.length / 2] == 'A' ? 'B' : 'A';
+
+        var request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(SecurityStateRepository.STATE_NAME, new String(value)));
+
+        assertFalse(cookieRepository.containsContext(request));
+        assertNull(cookieRepository.loadDeferredContext(request).get().getAuthentication());
+    }
+
+    @Test
+    void loadDeferredContext_MaxAgeHasPassed_ReturnsEmptyContext() {
+        var response = new MockHttpServletResponse();
+        cookieRepository.saveContext(context(authentication("user", List.of("ROLE_MANAGER"))),
+                new MockHttpServletRequest(), response);
+
+        cookieRepository.setClock(Clock.fixed(NOW.plus(Duration.ofHours(8)), ZoneOffset.UTC));
+
+        assertFalse(cookieRepository.containsContext(next(response)));
+    }
+
+    @Test
+    void saveContext_StateExceedsOneCookie_SplitsIntoChunks() {
+        var authorities = IntStream.range(0, 500)
+                .mapToObj(i -> "ROLE_%08x".formatted(i * 2654435761L))
+                .toList();
+        var response = new MockHttpServletResponse();
+        cookieRepository.saveContext(context(authentication("user", authorities)),
+                new MockHttpServletRequest(), response);
+
+        assertTrue(response.getCookies().length > 1);
+        var restored = cookieRepository.loadDeferredContext(next(response)).get().getAuthentication();
+        assertEquals(Set.copyOf(authorities), authorities(restored.getAuthorities()));
+    }
+
+    @Test
+    void saveContext_SharedMode_RenewsIdentifierOnLoginAndRemovesItOnLogout() {
+        var anonymousResponse = new MockHttpServletResponse();
+        sharedRepository.saveAuthorizedClient(authorizedClient("user"), authentication("user", List.of()),
+                new MockHttpServletRequest(), anonymousResponse);
+        String preLoginId = anonymousResponse.getCookie(SecurityStateRepository.STATE_NAME).getValue();
+
+        var loginResponse = new MockHttpServletResponse();
+        sharedRepository.saveContext(context(authentication("user", List.of("ROLE_MANAGER"))),
+                next(anonymousResponse), loginResponse);
+        String id = loginResponse.getCookie(SecurityStateRepository.STATE_NAME).getValue();
+
+        assertNotEquals(preLoginId, id);
+        assertNull(store.get(SecurityStateRepository.STATE_NAME + ":" + preLoginId));
+        assertEquals(1, store.getCache().estimatedSize());
+        var request = next(loginResponse);
+        assertTrue(sharedRepository.containsContext(request));
+        assertNotNull(sharedRepository.loadAuthorizedClient("keycloak",
+                sharedRepository.loadDeferredContext(request).get().getAuthentication(), request));
+
+        var logoutResponse = new MockHttpServletResponse();
+        sharedRepository.saveContext(SecurityContextHolder.createEmptyContext(), next(loginResponse),
+                logoutResponse);
+
+        assertEquals(0, logoutResponse.getCookie(SecurityStateRepository.STATE_NAME).getMaxAge());
+        assertNull(store.get(SecurityStateRepository.STATE_NAME + ":" + id));
+        assertFalse(sharedRepository.containsContext(next(loginResponse)));
+    }
+
+    @Test
+    void loadAuthorizationRequest_StateMatches_ReturnsSavedRequest() {
+        var authorizationRequest = OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri("http://localhost/auth")
+                .clientId("manager-app")
+                .redirectUri("http://localhost:8080/login/oauth2/code/keycloak")
+                .scopes(Set.of("openid", "view_catalogue"))
+                .state("state")
+                .attributes(attributes -> attributes.put("registration_id", "keycloak"))
+                .build();
+        var response = new MockHttpServletResponse();
+        cookieRepository.saveAuthorizationRequest(authorizationRequest, new MockHttpServletRequest(), response);
+
+        var callback = next(response);
+        callback.setParameter("state", "state");
+        var forgedCallback = next(response);
+        forgedCallback.setParameter("state", "forged");
+
+        assertNull(cookieRepository.loadAuthorizationRequest(forgedCallback));
+        var removeResponse = new MockHttpServletResponse();
+        var restored = cookieRepository.removeAuthorizationRequest(callback, removeResponse);
+        assertEquals(authorizationRequest.getAuthorizationRequestUri(), restored.getAuthorizationRequestUri());
+        assertEquals(authorizationRequest.getRedirectUri(), restored.getRedirectUri());
+        assertEquals(authorizationRequest.getScopes(), restored.getScopes());
+        assertEquals("keycloak", restored.getAttribute("registration_id"));
+        assertEquals(0, removeResponse.getCookie(SecurityStateRepository.AUTHORIZATION_REQUEST_NAME).getMaxAge());
+    }
+
+    SecurityStateRepository repository(SecurityStateStorage storage) {
+        var repository = new SecurityStateRepository(storage, codec, Duration.ofHours(8));
+        repository.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+        return repository;
+    }
+
+    static MockHttpServletRequest next(MockHttpServletResponse response) {
+        var cookies = new LinkedHashMap<String, Cookie>();
+        for (Cookie cookie : response.getCookies()) {
+            cookies.put(cookie.getName(), cookie);
+        }
+        var request = new MockHttpServletRequest();
+        request.setCookies(cookies.values().stream()
+                .filter(cookie -> cookie.getMaxAge() != 0)
+                .toArray(Cookie[]::new));
+        return request;
+    }
+
+    static SecurityContext context(OAuth2AuthenticationToken authentication) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        return context;
+    }
+
+    static OAuth2AuthenticationToken authentication(String subject, List<String> roles) {
+        List<GrantedAuthority> authorities = roles.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        String claims = """
+                {"sub": "%s", "iss": "http://localhost/realms/app", "aud": "manager-app", \
+                "iat": %d, "exp": %d}""".formatted(subject, NOW.getEpochSecond(), NOW.getEpochSecond() + 300);
+        var idToken = new OidcIdToken("eyJhbGciOiJSUzI1NiJ9.%s.signature".formatted(Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(claims.getBytes(StandardCharsets.UTF_8))),
+                NOW, NOW.plusSeconds(300), Map.of("sub", subject));
+        return new OAuth2AuthenticationToken(new DefaultOidcUser(authorities, idToken), authorities, "keycloak");
+    }
+
+    static OAuth2AuthorizedClient authorizedClient(String principalName) {
+        return new OAuth2AuthorizedClient(CLIENT_REGISTRATION, principalName,
+                new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "access-token", NOW,
+                        NOW.plusSeconds(300), Set.of("view_catalogue")),
+                new OAuth2RefreshToken("refresh-token", NOW));
+    }
+
+    static Set<String> authorities(Collection<? extends GrantedAuthority> authorities) {
+        return authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+    }
+}
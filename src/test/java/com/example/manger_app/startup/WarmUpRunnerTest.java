@@ -0,0 +1,86 @@
+package com.example.manger_app.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@WireMockTest
+@ExtendWith(OutputCaptureExtension.class)
+class WarmUpRunnerTest {
+    PoolingHttpClientConnectionManager connectionManager;
+
+    SpringTemplateEngine templateEngine;
+
+    WarmUpRunner runner;
+
+    @BeforeEach
+    void setUp(WireMockRuntimeInfo wireMock) {
+        connectionManager = PoolingHttpClientConnectionManagerBuilder.create().build();
+        var templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+
+        runner = new WarmUpRunner(new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .build()), URI.create(wireMock.getHttpBaseUrl() + "/actuator/health"), 3, templateEngine,
+                new PathMatchingResourcePatternResolver(), new ObjectMapper());
+    }
+
+    @Test
+    void run_OpensCatalogueConnectionsAndCachesTemplates(CapturedOutput output) {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathEqualTo("/actuator/health"))
+                .willReturn(WireMock.okJson("{\"status\": \"UP\"}")));
+
+        runner.run(new DefaultApplicationArguments());
+
+        assertEquals(3, connectionManager.getTotalStats().getAvailable());
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+        var templateCache = templateEngine.getCacheManager().getTemplateCache();
+        var cachedTemplates = templateCache.keySet().toString();
+        assertTrue(cachedTemplates.contains("catalogue/products/list"), cachedTemplates);
+        assertTrue(cachedTemplates.contains("errors/503"), cachedTemplates);
+        assertFalse(output.getAll().contains("ERROR"), output.getAll());
+
+        var cached = Set.copyOf(templateCache.keySet());
+        templateEngine.process("errors/503", new Context(Locale.ENGLISH, Map.of("error", "Каталог недоступен")));
+        assertEquals(cached, templateCache.keySet());
+    }
+
+    @Test
+    void run_CatalogueIsUnavailable_CompletesWarmUp() {
+        runner = new WarmUpRunner(new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .build()), URI.create("http://localhost:1/actuator/health"), 3, templateEngine,
+                new PathMatchingResourcePatternResolver(), new ObjectMapper());
+
+        runner.run(new DefaultApplicationArguments());
+
+        assertEquals(0, connectionManager.getTotalStats().getAvailable());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.manger_app.timing;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerTimingFilterTest {
+    ServerTimingFilter filter = new ServerTimingFilter();
+
+    @Test
+    void doFilter_PageIsRendered_AddsServerTimingHeaderAfterBody() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/catalogue/products/1");
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (servletRequest, servletResponse) -> {
+            var timing = (ServerTiming) servletRequest.getAttribute(ServerTiming.ATTRIBUTE);
+            timing.add(ServerTiming.Phase.CATALOGUE, TimeUnit.MILLISECONDS.toNanos(12));
+            timing.add(ServerTiming.Phase.CATALOGUE, TimeUnit.MILLISECONDS.toNanos(8));
+            servletResponse.getWriter().write("<html></html>");
+            servletResponse.flushBuffer();
+            timing.add(ServerTiming.Phase.RENDER, TimeUnit.MICROSECONDS.toNanos(1500));
+        });
+
+        String serverTiming = response.getHeader(ServerTiming.HEADER);
+        assertTrue(serverTiming.startsWith("catalogue;dur=20.0;desc=\"2 calls\", render;dur=1.5, total;dur="),
+                serverTiming);
+        assertEquals("<html></html>", response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void doFilter_HandlerRedirects_AddsServerTimingHeaderBeforeRedirect() throws Exception {
+        var request = new MockHttpServletRequest("POST", "/catalogue/products/create");
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (servletRequest, servletResponse) -> {
+            ((ServerTiming) servletRequest.getAttribute(ServerTiming.ATTRIBUTE))
+                    .add(ServerTiming.Phase.AUTH, TimeUnit.MILLISECONDS.toNanos(3));
+            ((HttpServletResponse) servletResponse).sendRedirect("/catalogue/products/1");
+        });
+
+        assertEquals("/catalogue/products/1", response.getRedirectedUrl());
+        assertTrue(response.getHeader(ServerTiming.HEADER).startsWith("auth;dur=3.0, total;dur="),
+                response.getHeader(ServerTiming.HEADER));
+    }
+}